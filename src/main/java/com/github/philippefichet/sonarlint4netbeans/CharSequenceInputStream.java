@@ -0,0 +1,103 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Bytes of a text encoded on demand, the text is never copied
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+final class CharSequenceInputStream extends InputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+    private final CharsetEncoder encoder;
+    private final CharBuffer chars;
+    // Encoded bytes not yet read, in read mode
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    private boolean encoded = false;
+    private boolean flushed = false;
+
+    CharSequenceInputStream(CharSequence content, Charset charset) {
+        // Same replacement than String.getBytes(Charset)
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.chars = CharBuffer.wrap(content);
+        this.bytes.flip();
+    }
+
+    @Override
+    public int read() {
+        if (!fill()) {
+            return -1;
+        }
+        return bytes.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < len && fill()) {
+            int count = Math.min(len - read, bytes.remaining());
+            bytes.get(b, off + read, count);
+            read += count;
+        }
+        return read == 0 ? -1 : read;
+    }
+
+    @Override
+    public int available() {
+        return bytes.remaining();
+    }
+
+    /**
+     * Encode next characters if all encoded bytes are read
+     * @return false if all bytes are read
+     */
+    private boolean fill() {
+        if (bytes.hasRemaining()) {
+            return true;
+        }
+        if (flushed) {
+            return false;
+        }
+        bytes.clear();
+        if (!encoded) {
+            CoderResult coderResult = encoder.encode(chars, bytes, true);
+            encoded = coderResult.isUnderflow();
+        }
+        if (encoded) {
+            flushed = encoder.flush(bytes).isUnderflow();
+        }
+        bytes.flip();
+        return bytes.hasRemaining();
+    }
+}
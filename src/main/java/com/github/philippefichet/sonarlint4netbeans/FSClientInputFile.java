@@ -19,17 +19,19 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
 
 /**
+ * File to analyze, its content is an unsaved text or is read from disk only
+ * when requested by analyzers
  *
  * @author FICHET Philippe
  */
@@ -39,10 +41,30 @@ public class FSClientInputFile implements ClientInputFile {
     private final String relativePath;
     private final boolean isTest;
     private final Charset encoding;
-    private final String content;
+    // Text to analyze or null to read file
+    private final CharSequence content;
     private final List<ClientInputFileListener> clientInputFileURIEvents = new ArrayList<>();
 
-    public FSClientInputFile(String content, Path path, String relativePath, boolean isTest, Charset encoding) {
+    /**
+     * File with content read from disk when requested
+     * @param path path of file
+     * @param relativePath path of file relative to base directory
+     * @param isTest true if test rules are applied
+     * @param encoding encoding of file, default encoding if null
+     */
+    public FSClientInputFile(Path path, String relativePath, boolean isTest, Charset encoding) {
+        this(null, path, relativePath, isTest, encoding);
+    }
+
+    /**
+     * File with content not copied, like a snapshot of an unsaved document
+     * @param content text to analyze, not modified during analysis, file is read if null
+     * @param path path of file
+     * @param relativePath path of file relative to base directory
+     * @param isTest true if test rules are applied
+     * @param encoding encoding of file, default encoding if null
+     */
+    public FSClientInputFile(CharSequence content, Path path, String relativePath, boolean isTest, Charset encoding) {
         this.content = content;
         this.path = path;
         this.relativePath = relativePath;
@@ -75,12 +97,22 @@ public class FSClientInputFile implements ClientInputFile {
 
     @Override
     public InputStream inputStream() throws IOException {
-        return new ByteArrayInputStream(content.getBytes());
+        if (content == null) {
+            return Files.newInputStream(path);
+        }
+        return new CharSequenceInputStream(content, getEffectiveCharset());
     }
 
     @Override
     public String contents() throws IOException {
-        return content;
+        if (content == null) {
+            return new String(Files.readAllBytes(path), getEffectiveCharset());
+        }
+        return content.toString();
+    }
+
+    private Charset getEffectiveCharset() {
+        return encoding == null ? Charset.defaultCharset() : encoding;
     }
 
     @Override
@@ -20,38 +20,68 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
  *
  * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
  */
-public class SonarLintAnalyserIssueChildren extends Children.Keys<Issue> {
+public class SonarLintAnalyserIssueChildren extends Children.Keys<Integer> {
 
-    private final java.util.Map<Issue, SonarLintAnalyserIssueNode> nodeInstancies = new HashMap<>();
-    private final SonarLintAnalyserIssueComparator issueComparator = new SonarLintAnalyserIssueComparator();
+    private final SonarLintIssueStore store;
+    private List<Integer> sortedIssues = new ArrayList<>();
 
-    public SonarLintAnalyserIssueChildren() {
-        
+    public SonarLintAnalyserIssueChildren(SonarLintIssueStore store) {
+        // Nodes are only created for displayed issues
+        super(true);
+        this.store = store;
     }
 
-    public void addIssue(DefaultClientIssue issue) {
-        nodeInstancies.put(issue, new SonarLintAnalyserIssueNode(issue));
-        List<Issue> keySet = new ArrayList<>(nodeInstancies.keySet());
-        Collections.sort(keySet, issueComparator);
-        setKeys(keySet);
+    /**
+     * Add a batch of issues, only the batch is sorted then merged with issues already sorted.
+     * Issues are compared on columns of store
+     * @param issues identifiers of issues in store
+     */
+    public void addIssues(Collection<Integer> issues) {
+        Comparator<Integer> comparator = store::compare;
+        List<Integer> batch = new ArrayList<>(issues);
+        batch.sort(comparator);
+        sortedIssues = merge(sortedIssues, batch, comparator);
+        setKeys(sortedIssues);
+    }
+
+    /**
+     * Merge two sorted lists, elements of first list come first when tied
+     * @param <T> type of elements
+     * @param first sorted list
+     * @param second sorted list
+     * @param comparator order of both lists
+     * @return new sorted list with elements of both lists
+     */
+    static <T> List<T> merge(List<T> first, List<T> second, Comparator<? super T> comparator) {
+        List<T> merged = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() && j < second.size()) {
+            if (comparator.compare(second.get(j), first.get(i)) < 0) {
+                merged.add(second.get(j++));
+            } else {
+                merged.add(first.get(i++));
+            }
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
     }
 
     @Override
-    protected Node[] createNodes(Issue issue) {
+    protected Node[] createNodes(Integer issue) {
         return new Node[] {
-            nodeInstancies.get(issue)
+            new SonarLintAnalyserIssueNode(store, issue)
         };
     }
 }
@@ -28,26 +28,13 @@ import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
  */
 public class SonarLintAnalyserIssueComparator implements Comparator<Issue> {
 
+    /**
+     * Compare issues by name of file, line and column,
+     * prefer sorting {@link SonarLintAnalyserIssueSortKey} to sort many issues
+     */
     @Override
     public int compare(Issue o1, Issue o2) {
-        String[] splitO1 = o1.getInputFile().uri().getPath().split("/");
-        String[] splitO2 = o2.getInputFile().uri().getPath().split("/");
-        if (splitO1.length == 0) {
-            return 1;
-        } else if (splitO2.length == 0) {
-            return -1;
-        } else {
-            int compare = splitO1[splitO1.length-1].compareTo(splitO2[splitO2.length-1]);
-            if (compare == 0) {
-                int compareLine =  o1.getStartLine() - o2.getStartLine();
-                if (compareLine == 0) {
-                    return o1.getStartLineOffset() - o2.getStartLineOffset();
-                } else {
-                    return compareLine;
-                }
-            } else {
-                return compare;
-            }
-        }
+        return SonarLintAnalyserIssueSortKey.ofTransient(o1)
+            .compareTo(SonarLintAnalyserIssueSortKey.ofTransient(o2));
     }
 }
@@ -22,90 +22,85 @@ package com.github.philippefichet.sonarlint4netbeans;
 import com.github.philippefichet.sonarlint4netbeans.node.SeverityProperty;
 import java.awt.Image;
 import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
 import javax.swing.Action;
-import org.openide.filesystems.FileObject;
-import org.openide.filesystems.FileUtil;
-import org.openide.loaders.DataObject;
-import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Children;
 import org.openide.nodes.PropertySupport;
 import org.openide.nodes.Sheet;
-import org.openide.util.Exceptions;
-import org.openide.util.Utilities;
 import org.openide.util.actions.SystemAction;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
 
 /**
  *
  * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
  */
 public class SonarLintAnalyserIssueNode extends AbstractNode {
-    private final DefaultClientIssue issue;
-    private final Sheet.Set ruleNamePropertySet = new Sheet.Set();
-    private final Sheet.Set locationPropertySet = new Sheet.Set();
-    private final Sheet.Set typePropertySet = new Sheet.Set();
-    private final Sheet.Set severityPropertySet = new Sheet.Set();
-    private final PropertySet[] propertySets = new PropertySet[] {
-        locationPropertySet,
-        typePropertySet,
-        severityPropertySet,
-        ruleNamePropertySet
-    };
-    private DataObject dataObject = null;
-
-    public SonarLintAnalyserIssueNode(DefaultClientIssue issue) {
+    private final SonarLintIssueStore store;
+    private final int issue;
+
+    public SonarLintAnalyserIssueNode(SonarLintIssueStore store, int issue) {
         super(Children.LEAF);
+        this.store = store;
         this.issue = issue;
-        ClientInputFile inputFile = issue.getInputFile();
-        Integer startLine = issue.getStartLine();
-        Integer startLineOffset = issue.getStartLineOffset();
+        Integer startLine = store.getStartLine(issue);
+        Integer startLineOffset = store.getStartLineOffset(issue);
         String prefixDisplayName = ": ";
         if (startLine != null && startLineOffset != null) {
             prefixDisplayName = startLine + ":" + startLineOffset + ": ";
         }
-        if (inputFile != null) {
-            setDisplayName(prefixDisplayName + inputFile.relativePath());
-            FileObject fileObject = FileUtil.toFileObject(Utilities.toFile(inputFile.uri()));
-            if (fileObject != null) {
-                try {
-                    dataObject = DataObject.find(fileObject);
-                } catch (DataObjectNotFoundException ex) {
-                    Exceptions.printStackTrace(ex);
-                }
-            }
+        if (store.getURI(issue) != null) {
+            setDisplayName(prefixDisplayName + store.getRelativePath(issue));
         } else {
             setDisplayName(prefixDisplayName + "Unkown file");
         }
+    }
+
+    /**
+     * Properties are only created when displayed
+     * @return sheet with properties of issue
+     */
+    @Override
+    protected Sheet createSheet() {
+        Sheet.Set ruleNamePropertySet = new Sheet.Set();
         ruleNamePropertySet.setName("ruleName");
         ruleNamePropertySet.setDisplayName("Rule name");
         ruleNamePropertySet.setShortDescription("Rule name");
-        ruleNamePropertySet.put(new RuleNameProperty(issue.getRuleName()));
+        ruleNamePropertySet.put(new RuleNameProperty(store.getRuleName(issue)));
+        Sheet.Set locationPropertySet = new Sheet.Set();
         locationPropertySet.setName("location");
         locationPropertySet.setDisplayName("Location");
         locationPropertySet.setShortDescription("Location");
-        locationPropertySet.put(new LocationProperty(issue));
+        locationPropertySet.put(new LocationProperty(store, issue));
+        Sheet.Set typePropertySet = new Sheet.Set();
         typePropertySet.setName("type");
         typePropertySet.setDisplayName("Type");
         typePropertySet.setShortDescription("Type");
-        typePropertySet.put(new TypeProperty(issue));
+        typePropertySet.put(new TypeProperty(store.getType(issue)));
+        Sheet.Set severityPropertySet = new Sheet.Set();
         severityPropertySet.setName("severity");
         severityPropertySet.setDisplayName("Severity");
         severityPropertySet.setShortDescription("Severity");
-        severityPropertySet.put(new SeverityProperty(issue.getSeverity()));
+        severityPropertySet.put(new SeverityProperty(store.getSeverity(issue)));
+        Sheet sheet = new Sheet();
+        sheet.put(locationPropertySet);
+        sheet.put(typePropertySet);
+        sheet.put(severityPropertySet);
+        sheet.put(ruleNamePropertySet);
+        return sheet;
     }
 
     public static final class LocationProperty extends PropertySupport.ReadOnly<String> {
-        private final String value;
-        public LocationProperty(DefaultClientIssue issue) {
+        private final SonarLintIssueStore store;
+        private final int issue;
+        public LocationProperty(SonarLintIssueStore store, int issue) {
             super("location", String.class, "Location", "Location");
-            value = "start at line " + issue.getStartLine() + " and column " + issue.getStartLineOffset() + " to end at line " + issue.getEndLine() + " and column" + issue.getEndLineOffset();
+            this.store = store;
+            this.issue = issue;
         }
 
         @Override
         public String getValue() throws IllegalAccessException, InvocationTargetException {
-            return value;
+            return "start at line " + store.getStartLine(issue) + " and column " + store.getStartLineOffset(issue) + " to end at line " + store.getEndLine(issue) + " and column" + store.getEndLineOffset(issue);
         }
     }
 
@@ -126,9 +121,9 @@ public class SonarLintAnalyserIssueNode extends AbstractNode {
 
     public static final class TypeProperty extends PropertySupport.ReadOnly<String> {
         private final String value;
-        public TypeProperty(DefaultClientIssue issue) {
+        public TypeProperty(String type) {
             super("type", String.class, "Type", "Type");
-            value = issue.getType();
+            value = type;
         }
 
         @Override
@@ -137,11 +132,6 @@ public class SonarLintAnalyserIssueNode extends AbstractNode {
         }
     }
 
-    @Override
-    public PropertySet[] getPropertySets() {
-        return propertySets;
-    }
-
     @Override
     public Action[] getActions(boolean context) {
         return new Action[] {
@@ -154,16 +144,29 @@ public class SonarLintAnalyserIssueNode extends AbstractNode {
         return SystemAction.get(SonarLintAnalyzerOpenIssueInFileAction.class);
     }
 
-    public DefaultClientIssue getIssue() {
-        return issue;
+    /**
+     * @return uri of file of issue or null if issue is not on a file
+     */
+    public URI getURI() {
+        return store.getURI(issue);
+    }
+
+    public Integer getStartLine() {
+        return store.getStartLine(issue);
+    }
+
+    public Integer getStartLineOffset() {
+        return store.getStartLineOffset(issue);
     }
 
     @Override
     public Image getIcon(int type) {
-        if (dataObject != null) {
-            return dataObject.getNodeDelegate().getIcon(type);
-        } else {
+        URI uri = store.getURI(issue);
+        if (uri == null) {
             return super.getIcon(type);
         }
+        return SonarLintDataObjectCache.find(uri)
+            .map(dataObject -> dataObject.getNodeDelegate().getIcon(type))
+            .orElseGet(() -> super.getIcon(type));
     }
 }
\ No newline at end of file
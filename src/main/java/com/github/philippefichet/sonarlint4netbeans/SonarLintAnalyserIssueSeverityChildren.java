@@ -20,13 +20,14 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.TreeMap;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
-import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
  *
@@ -39,44 +40,40 @@ public class SonarLintAnalyserIssueSeverityChildren extends Children.Keys<String
     private static final String SEVERITY_INFO = "INFO";
     private static final String SEVERITY_MAJOR = "MAJOR";
     private static final String SEVERITY_MINOR = "MINOR";
-    private final java.util.Map<String, SonarLintAnalyserIssueSeverityNode> nodeInstancies = new HashMap<>();
+    private static final List<String> SEVERITY_ORDER = Arrays.asList(
+        SEVERITY_BLOCKER,
+        SEVERITY_CRITICAL,
+        SEVERITY_MAJOR,
+        SEVERITY_INFO,
+        SEVERITY_MINOR
+    );
+    // Known severities first, then others
+    private static final Comparator<String> SEVERITY_COMPARATOR = Comparator.<String>comparingInt(severity -> {
+        int index = SEVERITY_ORDER.indexOf(severity);
+        return index < 0 ? SEVERITY_ORDER.size() : index;
+    }).thenComparing(Comparator.naturalOrder());
+    private final java.util.Map<String, SonarLintAnalyserIssueSeverityNode> nodeInstancies = new TreeMap<>(SEVERITY_COMPARATOR);
+    private final SonarLintIssueStore store;
     private int issueCount = 0;
 
-    public void addIssue(Issue issue) {
-        if (issue instanceof DefaultClientIssue) {
-            issueCount++;
-            nodeInstancies.computeIfAbsent(issue.getSeverity(), SonarLintAnalyserIssueSeverityNode::new)
-                .addIssue((DefaultClientIssue)issue);
-            setKeys(orderKeysBySeverity(nodeInstancies.keySet()));
-        }
+    public SonarLintAnalyserIssueSeverityChildren(SonarLintIssueStore store) {
+        this.store = store;
     }
-    
-    private static List<String> orderKeysBySeverity(Set<String> keySet)
-    {
-        List<String> copyKeySet = new ArrayList<>(keySet);
-        List<String> keys = new ArrayList<>(keySet.size());
-        if (copyKeySet.contains(SEVERITY_BLOCKER)) {
-            keys.add(SEVERITY_BLOCKER);
-            copyKeySet.remove(SEVERITY_BLOCKER);
-        }
-        if (copyKeySet.contains(SEVERITY_CRITICAL)) {
-            keys.add(SEVERITY_CRITICAL);
-            copyKeySet.remove(SEVERITY_CRITICAL);
-        }
-        if (copyKeySet.contains(SEVERITY_MAJOR)) {
-            keys.add(SEVERITY_MAJOR);
-            copyKeySet.remove(SEVERITY_MAJOR);
+
+    public void addIssues(Collection<Integer> issues) {
+        java.util.Map<String, List<Integer>> issuesBySeverity = new LinkedHashMap<>();
+        for (Integer issue : issues) {
+            issuesBySeverity.computeIfAbsent(store.getSeverity(issue), k -> new ArrayList<>()).add(issue);
         }
-        if (copyKeySet.contains(SEVERITY_INFO)) {
-            keys.add(SEVERITY_INFO);
-            copyKeySet.remove(SEVERITY_INFO);
+        int severityCount = nodeInstancies.size();
+        for (java.util.Map.Entry<String, List<Integer>> entry : issuesBySeverity.entrySet()) {
+            nodeInstancies.computeIfAbsent(entry.getKey(), severity -> new SonarLintAnalyserIssueSeverityNode(severity, store))
+                .addIssues(entry.getValue());
         }
-        if (copyKeySet.contains(SEVERITY_MINOR)) {
-            keys.add(SEVERITY_MINOR);
-            copyKeySet.remove(SEVERITY_MINOR);
+        issueCount += issues.size();
+        if (severityCount != nodeInstancies.size()) {
+            setKeys(nodeInstancies.keySet());
         }
-        keys.addAll(copyKeySet);
-        return keys;
     }
 
     @Override
@@ -20,10 +20,10 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import com.github.philippefichet.sonarlint4netbeans.node.SeverityProperty;
+import java.util.Collection;
 import javax.swing.Action;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Sheet;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
 
 /**
  *
@@ -39,8 +39,8 @@ public class SonarLintAnalyserIssueSeverityNode extends AbstractNode {
         severityPropertySet,
     };
 
-    public SonarLintAnalyserIssueSeverityNode(String severity) {
-        super(new SonarLintAnalyserIssueSeverityRuleKeyChildren());
+    public SonarLintAnalyserIssueSeverityNode(String severity, SonarLintIssueStore store) {
+        super(new SonarLintAnalyserIssueSeverityRuleKeyChildren(store));
         this.severity = severity.toLowerCase();
         children = (SonarLintAnalyserIssueSeverityRuleKeyChildren)getChildren();
         severityPropertySet.setName("severity");
@@ -59,9 +59,9 @@ public class SonarLintAnalyserIssueSeverityNode extends AbstractNode {
         }
     }
 
-    public void addIssue(DefaultClientIssue issue) {
-        children.addIssue(issue);
-        flatChildCount++;
+    public void addIssues(Collection<Integer> issues) {
+        children.addIssues(issues);
+        flatChildCount += issues.size();
         updateDisplayName();
     }
 
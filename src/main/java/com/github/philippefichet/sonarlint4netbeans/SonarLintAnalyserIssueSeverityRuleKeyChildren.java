@@ -20,11 +20,12 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
 import org.openide.nodes.Children;
 import org.openide.nodes.Node;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
 
 /**
  *
@@ -32,20 +33,30 @@ import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
  */
 public class SonarLintAnalyserIssueSeverityRuleKeyChildren extends Children.Keys<String> {
 
-    private final java.util.Map<String, SonarLintAnalyserIssueSeverityRuleKeyNode> nodeInstancies = new HashMap<>();
+    // Sorted by rule key
+    private final java.util.Map<String, SonarLintAnalyserIssueSeverityRuleKeyNode> nodeInstancies = new TreeMap<>();
 
 
-    public SonarLintAnalyserIssueSeverityRuleKeyChildren() {
+    private final SonarLintIssueStore store;
 
+    public SonarLintAnalyserIssueSeverityRuleKeyChildren(SonarLintIssueStore store) {
+        this.store = store;
     }
 
-    public void addIssue(DefaultClientIssue issue) {
-        String ruleKey = issue.getRuleKey();
-        nodeInstancies.computeIfAbsent(ruleKey, (k) -> new SonarLintAnalyserIssueSeverityRuleKeyNode(issue))
-            .addIssue(issue);
-        ArrayList<String> keys = new ArrayList<>(nodeInstancies.keySet());
-        Collections.sort(keys);
-        setKeys(keys);
+    public void addIssues(Collection<Integer> issues) {
+        java.util.Map<String, List<Integer>> issuesByRuleKey = new LinkedHashMap<>();
+        for (Integer issue : issues) {
+            issuesByRuleKey.computeIfAbsent(store.getRuleKey(issue), k -> new ArrayList<>()).add(issue);
+        }
+        int ruleKeyCount = nodeInstancies.size();
+        for (java.util.Map.Entry<String, List<Integer>> entry : issuesByRuleKey.entrySet()) {
+            List<Integer> ruleKeyIssues = entry.getValue();
+            nodeInstancies.computeIfAbsent(entry.getKey(), (k) -> new SonarLintAnalyserIssueSeverityRuleKeyNode(store, ruleKeyIssues.get(0)))
+                .addIssues(ruleKeyIssues);
+        }
+        if (ruleKeyCount != nodeInstancies.size()) {
+            setKeys(nodeInstancies.keySet());
+        }
     }
 
     
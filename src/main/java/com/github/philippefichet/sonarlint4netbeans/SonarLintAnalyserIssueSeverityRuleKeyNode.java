@@ -20,10 +20,10 @@
 package com.github.philippefichet.sonarlint4netbeans;
 
 import com.github.philippefichet.sonarlint4netbeans.node.SeverityProperty;
+import java.util.Collection;
 import javax.swing.Action;
 import org.openide.nodes.AbstractNode;
 import org.openide.nodes.Sheet;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
 
 /**
  *
@@ -45,24 +45,24 @@ public class SonarLintAnalyserIssueSeverityRuleKeyNode extends AbstractNode {
     };
     private int flatChildCount = 0;
     
-    public SonarLintAnalyserIssueSeverityRuleKeyNode(DefaultClientIssue issue) {
-        super(new SonarLintAnalyserIssueChildren());
+    public SonarLintAnalyserIssueSeverityRuleKeyNode(SonarLintIssueStore store, int issue) {
+        super(new SonarLintAnalyserIssueChildren(store));
         children = (SonarLintAnalyserIssueChildren)getChildren();
-        this.ruleKey = issue.getRuleKey();
-        this.ruleName = issue.getRuleName();
-        this.type = issue.getType();
+        this.ruleKey = store.getRuleKey(issue);
+        this.ruleName = store.getRuleName(issue);
+        this.type = store.getType(issue);
         ruleNamePropertySet.setName("ruleName");
         ruleNamePropertySet.setDisplayName("Rule name");
         ruleNamePropertySet.setShortDescription("Rule name");
-        ruleNamePropertySet.put(new SonarLintAnalyserIssueNode.RuleNameProperty(issue.getRuleName()));
+        ruleNamePropertySet.put(new SonarLintAnalyserIssueNode.RuleNameProperty(ruleName));
         typePropertySet.setName("type");
         typePropertySet.setDisplayName("Type");
         typePropertySet.setShortDescription("Type");
-        typePropertySet.put(new SonarLintAnalyserIssueNode.TypeProperty(issue));
+        typePropertySet.put(new SonarLintAnalyserIssueNode.TypeProperty(type));
         severityPropertySet.setName("severity");
         severityPropertySet.setDisplayName("Severity");
         severityPropertySet.setShortDescription("Severity");
-        severityPropertySet.put(new SeverityProperty(issue.getSeverity()));
+        severityPropertySet.put(new SeverityProperty(store.getSeverity(issue)));
         updateDisplayName();
         setIconBaseWithExtension("com/github/philippefichet/sonarlint4netbeans/resources/sonarlint-type-" + type.toLowerCase() + "-16px.png");
     }
@@ -71,9 +71,9 @@ public class SonarLintAnalyserIssueSeverityRuleKeyNode extends AbstractNode {
         setDisplayName(ruleKey + " : " + ruleName + " (" + flatChildCount + ")");
     }
 
-    public void addIssue(DefaultClientIssue issue) {
-        children.addIssue(issue);
-        flatChildCount++;
+    public void addIssues(Collection<Integer> issues) {
+        children.addIssues(issues);
+        flatChildCount += issues.size();
         updateDisplayName();
     }
 
@@ -0,0 +1,103 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Sort key of an issue computed once: name of file, line and column.
+ * Issues without file are sorted last, issues without line first in their file.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnalyserIssueSortKey implements Comparable<SonarLintAnalyserIssueSortKey> {
+
+    private final Issue issue;
+    private final String fileName;
+    private final int line;
+    private final int column;
+
+    private SonarLintAnalyserIssueSortKey(Issue issue, String fileName) {
+        this.issue = issue;
+        this.fileName = fileName;
+        Integer startLine = issue.getStartLine();
+        Integer startLineOffset = issue.getStartLineOffset();
+        this.line = startLine == null ? 0 : startLine;
+        this.column = startLineOffset == null ? 0 : startLineOffset;
+    }
+
+    /**
+     * Create sort key of an issue kept to be sorted, name of file is interned
+     * to compare files of same name by reference
+     * @param issue issue to sort
+     * @return sort key of issue
+     */
+    public static SonarLintAnalyserIssueSortKey of(Issue issue) {
+        String fileName = toFileName(issue);
+        return new SonarLintAnalyserIssueSortKey(issue, fileName == null ? null : fileName.intern());
+    }
+
+    /**
+     * Create sort key of an issue only compared once
+     * @param issue issue to compare
+     * @return sort key of issue
+     */
+    static SonarLintAnalyserIssueSortKey ofTransient(Issue issue) {
+        return new SonarLintAnalyserIssueSortKey(issue, toFileName(issue));
+    }
+
+    private static String toFileName(Issue issue) {
+        ClientInputFile inputFile = issue.getInputFile();
+        if (inputFile == null) {
+            return null;
+        }
+        String path = inputFile.uri().getPath();
+        if (path == null) {
+            return null;
+        }
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return fileName.isEmpty() ? null : fileName;
+    }
+
+    public Issue getIssue() {
+        return issue;
+    }
+
+    @Override
+    public int compareTo(SonarLintAnalyserIssueSortKey other) {
+        if (fileName != other.fileName) {
+            if (fileName == null) {
+                return 1;
+            } else if (other.fileName == null) {
+                return -1;
+            }
+            int compare = fileName.compareTo(other.fileName);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        int compareLine = Integer.compare(line, other.line);
+        if (compareLine != 0) {
+            return compareLine;
+        }
+        return Integer.compare(column, other.column);
+    }
+}
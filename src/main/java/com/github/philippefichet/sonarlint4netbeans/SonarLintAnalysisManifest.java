@@ -0,0 +1,427 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.util.Lookup;
+import org.sonarsource.sonarlint.core.client.api.common.TextRange;
+import org.sonarsource.sonarlint.core.client.api.common.Version;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * On-disk fingerprints of files analyzed in a project with their issues,
+ * to analyze again only files changed since previous analysis.
+ * A file is unchanged if its size and last modification time are the
+ * same, or if its size and hash of its content are the same.
+ * Manifest is ignored if written for another version of analyzers or
+ * another configuration of engine, a file is analyzed again if rules of
+ * its languages changed.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnalysisManifest {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintAnalysisManifest.class.getName());
+    private static final int FORMAT_VERSION = 2;
+    private static final int HASH_BUFFER_SIZE = 8192;
+    private final Gson gson = new Gson();
+    private final Path manifestFile;
+    private final String version;
+    private final Map<String, FileEntry> previousFiles = new HashMap<>();
+    private final Map<String, FileEntry> files = new ConcurrentHashMap<>();
+    // Size, last modification time and rules of files to analyze, read before analysis
+    private final Map<String, AnalyzedFile> analyzedFiles = new ConcurrentHashMap<>();
+    private final Map<String, List<StoredIssue>> analyzedFileIssues = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> analyzedFileTests = new ConcurrentHashMap<>();
+
+    /**
+     * @param manifestFile file used to store manifest
+     * @param configuration versions of analyzers and configuration of engine
+     */
+    public SonarLintAnalysisManifest(Path manifestFile, String configuration) {
+        this.manifestFile = manifestFile;
+        this.version = FORMAT_VERSION + ":" + configuration;
+    }
+
+    /**
+     * Create manifest of a project analyzed with current configuration of engine,
+     * rules are checked file by file with {@link #getUnchangedIssues(Path, String)}
+     * @param roots analyzed files or directories of project
+     * @param sonarLintEngine engine used to analyze
+     * @return manifest of previous analysis of same roots
+     */
+    public static SonarLintAnalysisManifest of(Collection<Path> roots, SonarLintEngine sonarLintEngine) {
+        SonarLintOptions sonarlintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
+        boolean useTestRules = sonarlintOptions == null || sonarlintOptions.applyDifferentRulesOnTestFiles();
+        SonarLintAnalysisManifest manifest = new SonarLintAnalysisManifest(
+            getManifestFile(roots),
+            String.join(":",
+                SonarLintEngineImpl.SONAR_JAVA_PLUGIN_VERSION,
+                SonarLintEngineImpl.SONAR_JAVASCRIPT_PLUGIN_VERSION,
+                SonarLintEngineImpl.SONAR_PHP_PLUGIN_VERSION,
+                sonarLintEngine.getNodeJSPath().orElse(""),
+                sonarLintEngine.getNodeJSVersion().map(Version::toString).orElse(""),
+                Boolean.toString(useTestRules)
+            )
+        );
+        manifest.load();
+        return manifest;
+    }
+
+    /**
+     * Retrieve file of manifest of analyzed roots in ~/.sonarlint4netbeans
+     * @param roots analyzed files or directories of project
+     * @return file of manifest, same file whatever order of roots
+     */
+    public static Path getManifestFile(Collection<Path> roots) {
+        TreeSet<String> sortedRoots = new TreeSet<>();
+        roots.forEach(root -> sortedRoots.add(root.toAbsolutePath().normalize().toString()));
+        MessageDigest digest = newDigest();
+        sortedRoots.forEach(root -> digest.update((root + '\n').getBytes(StandardCharsets.UTF_8)));
+        return Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "manifests", toHex(digest.digest()) + ".json");
+    }
+
+    /**
+     * Read manifest of previous analysis from disk
+     * @return true if a manifest exists for current configuration
+     */
+    public boolean load() {
+        previousFiles.clear();
+        if (!Files.isRegularFile(manifestFile)) {
+            return false;
+        }
+        try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            Manifest manifest = gson.fromJson(reader, Manifest.class);
+            if (manifest == null || !version.equals(manifest.version) || manifest.files == null) {
+                return false;
+            }
+            previousFiles.putAll(manifest.files);
+            return true;
+        } catch (IOException | JsonParseException ex) {
+            LOG.log(Level.WARNING, "Unable to read analysis manifest \"" + manifestFile + "\"", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Retrieve issues of a file unchanged since previous analysis, unchanged
+     * file is kept in manifest. Changed file must be analyzed then recorded.
+     * @param file file to analyze
+     * @param rules fingerprint of rules of languages of file, once languages are required
+     * @return issues of previous analysis or empty if file or its rules changed
+     * @throws IOException if file cannot be read
+     */
+    public Optional<List<Issue>> getUnchangedIssues(Path file, String rules) throws IOException {
+        String key = toKey(file);
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        FileEntry previous = previousFiles.get(key);
+        if (previous != null && previous.size == size && rules.equals(previous.rules)
+            && (previous.lastModified == lastModified || previous.hash.equals(hash(file)))) {
+            files.put(key, new FileEntry(size, lastModified, previous.hash, rules, previous.test, previous.issues));
+            return Optional.of(toIssues(file, previous.test, previous.issues));
+        }
+        analyzedFiles.put(key, new AnalyzedFile(size, lastModified, rules));
+        return Optional.empty();
+    }
+
+    /**
+     * Keep an issue found by analysis of a changed file
+     * @param issue issue found
+     */
+    public void addIssue(Issue issue) {
+        ClientInputFile inputFile = issue.getInputFile();
+        if (inputFile != null && "file".equals(inputFile.uri().getScheme())) {
+            String key = toKey(Paths.get(inputFile.uri()));
+            analyzedFileTests.put(key, inputFile.isTest());
+            analyzedFileIssues.computeIfAbsent(key, fileKey -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new StoredIssue(issue));
+        }
+    }
+
+    /**
+     * Record a changed file once analyzed with issues found, file modified
+     * during analysis is not recorded to be analyzed again
+     * @param file analyzed file
+     * @throws IOException if file cannot be read
+     */
+    public void record(Path file) throws IOException {
+        String key = toKey(file);
+        AnalyzedFile analyzedFile = analyzedFiles.remove(key);
+        List<StoredIssue> issues = analyzedFileIssues.remove(key);
+        Boolean test = analyzedFileTests.remove(key);
+        if (analyzedFile == null) {
+            return;
+        }
+        String hash = hash(file);
+        if (Files.size(file) == analyzedFile.size && Files.getLastModifiedTime(file).toMillis() == analyzedFile.lastModified) {
+            files.put(key, new FileEntry(
+                analyzedFile.size,
+                analyzedFile.lastModified,
+                hash,
+                analyzedFile.rules,
+                Boolean.TRUE.equals(test),
+                issues == null ? new ArrayList<>() : new ArrayList<>(issues)
+            ));
+        }
+    }
+
+    /**
+     * Record all changed files analyzed
+     * @param failedFiles files whose analysis failed, not recorded
+     */
+    public void recordAnalyzedFiles(Collection<Path> failedFiles) {
+        for (Path failedFile : failedFiles) {
+            analyzedFiles.remove(toKey(failedFile));
+        }
+        for (String key : new ArrayList<>(analyzedFiles.keySet())) {
+            try {
+                record(Paths.get(key));
+            } catch (IOException ex) {
+                LOG.log(Level.FINE, "Unable to record analyzed file \"" + key + "\"", ex);
+            }
+        }
+    }
+
+    /**
+     * Retrieve number of files recorded by current analysis
+     * @return number of files unchanged or recorded
+     */
+    public int size() {
+        return files.size();
+    }
+
+    /**
+     * Write manifest on disk, only with files unchanged or recorded by current analysis
+     */
+    public void save() {
+        Manifest manifest = new Manifest();
+        manifest.version = version;
+        manifest.files = new HashMap<>(files);
+        try {
+            Files.createDirectories(manifestFile.getParent());
+            Path temporaryFile = Files.createTempFile(manifestFile.getParent(), manifestFile.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                gson.toJson(manifest, writer);
+            }
+            Files.move(temporaryFile, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Unable to write analysis manifest \"" + manifestFile + "\"", ex);
+        }
+    }
+
+    private static String toKey(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private static List<Issue> toIssues(Path file, boolean test, List<StoredIssue> storedIssues) {
+        if (storedIssues == null || storedIssues.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Same input file than batch analysis, content is never read
+        ClientInputFile inputFile = new FSClientInputFile(file.toAbsolutePath(), file.getFileName().toString(), test, null);
+        List<Issue> issues = new ArrayList<>(storedIssues.size());
+        for (StoredIssue storedIssue : storedIssues) {
+            issues.add(new RestoredIssue(storedIssue, inputFile));
+        }
+        return issues;
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static final class Manifest {
+        private String version;
+        private Map<String, FileEntry> files;
+    }
+
+    private static final class AnalyzedFile {
+        private final long size;
+        private final long lastModified;
+        private final String rules;
+
+        private AnalyzedFile(long size, long lastModified, String rules) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.rules = rules;
+        }
+    }
+
+    private static final class FileEntry {
+        private final long size;
+        private final long lastModified;
+        private final String hash;
+        private final String rules;
+        private final boolean test;
+        private final List<StoredIssue> issues;
+
+        private FileEntry(long size, long lastModified, String hash, String rules, boolean test, List<StoredIssue> issues) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+            this.rules = rules;
+            this.test = test;
+            this.issues = issues;
+        }
+    }
+
+    private static final class StoredIssue {
+        private final String ruleKey;
+        private final String ruleName;
+        private final String severity;
+        private final String type;
+        private final String message;
+        private final Integer startLine;
+        private final Integer startLineOffset;
+        private final Integer endLine;
+        private final Integer endLineOffset;
+
+        private StoredIssue(Issue issue) {
+            ruleKey = issue.getRuleKey();
+            ruleName = issue.getRuleName();
+            severity = issue.getSeverity();
+            type = issue.getType();
+            message = issue.getMessage();
+            startLine = issue.getStartLine();
+            startLineOffset = issue.getStartLineOffset();
+            endLine = issue.getEndLine();
+            endLineOffset = issue.getEndLineOffset();
+        }
+    }
+
+    private static final class RestoredIssue implements Issue {
+        private final StoredIssue issue;
+        private final ClientInputFile inputFile;
+
+        private RestoredIssue(StoredIssue issue, ClientInputFile inputFile) {
+            this.issue = issue;
+            this.inputFile = inputFile;
+        }
+
+        @Override
+        public String getSeverity() {
+            return issue.severity;
+        }
+
+        @Override
+        public String getType() {
+            return issue.type;
+        }
+
+        @Override
+        public String getRuleKey() {
+            return issue.ruleKey;
+        }
+
+        @Override
+        public String getRuleName() {
+            return issue.ruleName;
+        }
+
+        @Override
+        public List<Flow> flows() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public ClientInputFile getInputFile() {
+            return inputFile;
+        }
+
+        @Override
+        public TextRange getTextRange() {
+            return issue.startLine == null ? null : new TextRange(issue.startLine, issue.startLineOffset, issue.endLine, issue.endLineOffset);
+        }
+
+        @Override
+        public String getMessage() {
+            return issue.message;
+        }
+
+        @Override
+        public Integer getStartLine() {
+            return issue.startLine;
+        }
+
+        @Override
+        public Integer getStartLineOffset() {
+            return issue.startLineOffset;
+        }
+
+        @Override
+        public Integer getEndLine() {
+            return issue.endLine;
+        }
+
+        @Override
+        public Integer getEndLineOffset() {
+            return issue.endLineOffset;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Progress of a project analysis: files found by walk and files read by
+ * analyzers are counted in constant time from any thread, display is updated
+ * at most {@link #UPDATE_INTERVAL_MS} milliseconds apart with throughput and
+ * estimated remaining time.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnalysisProgress {
+
+    public static final long UPDATE_INTERVAL_MS = 100;
+    private static final int MAXIMAL_URI_LENGTH = 75;
+    private final Display display;
+    private final LongSupplier nanoTime;
+    private final long startNanos;
+    private final long updateIntervalNanos = TimeUnit.MILLISECONDS.toNanos(UPDATE_INTERVAL_MS);
+    // Files found and not yet read by analyzers
+    private final Set<String> pendingFiles = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger foundFiles = new AtomicInteger();
+    private final AtomicInteger analyzedFiles = new AtomicInteger();
+    private final AtomicLong nextUpdateNanos;
+    private volatile boolean walkFinished = false;
+
+    /**
+     * Display of progress, like a progress handle
+     */
+    public interface Display {
+        /**
+         * Called once number of files is known
+         * @param workunits number of files
+         */
+        public void switchToDeterminate(int workunits);
+
+        /**
+         * Called while number of files is unknown
+         * @param message progress message
+         */
+        public void progress(String message);
+
+        /**
+         * Called once number of files is known
+         * @param message progress message
+         * @param workunit number of analyzed files
+         */
+        public void progress(String message, int workunit);
+    }
+
+    public SonarLintAnalysisProgress(Display display) {
+        this(display, System::nanoTime);
+    }
+
+    SonarLintAnalysisProgress(Display display, LongSupplier nanoTime) {
+        this.display = display;
+        this.nanoTime = nanoTime;
+        this.startNanos = nanoTime.getAsLong();
+        this.nextUpdateNanos = new AtomicLong(startNanos);
+    }
+
+    /**
+     * Count a file found by walk
+     * @param uri uri of file
+     */
+    public void fileFound(URI uri) {
+        if (pendingFiles.add(uri.getPath())) {
+            int found = foundFiles.incrementAndGet();
+            if (!walkFinished && isUpdateTime()) {
+                display.progress("Found " + found + " files, analyzed " + analyzedFiles.get());
+            }
+        }
+    }
+
+    /**
+     * Count a file read by an analyzer, files read again are not counted
+     * @param uri uri of file
+     */
+    public void fileAnalyzed(URI uri) {
+        if (!pendingFiles.remove(uri.getPath())) {
+            return;
+        }
+        int analyzed = analyzedFiles.incrementAndGet();
+        if (isUpdateTime()) {
+            update(analyzed, SonarLintUtils.toTruncateURI(uri, MAXIMAL_URI_LENGTH));
+        }
+    }
+
+    /**
+     * Number of files is known once walk is finished
+     */
+    public void walkFinished() {
+        display.switchToDeterminate(foundFiles.get());
+        walkFinished = true;
+        update(analyzedFiles.get(), "");
+    }
+
+    public int getFoundFiles() {
+        return foundFiles.get();
+    }
+
+    public int getAnalyzedFiles() {
+        return analyzedFiles.get();
+    }
+
+    private void update(int analyzed, String currentFile) {
+        double elapsedSeconds = Math.max(1L, nanoTime.getAsLong() - startNanos) / 1e9;
+        double filesPerSecond = analyzed / elapsedSeconds;
+        String suffix = currentFile.isEmpty() ? "" : " - " + currentFile;
+        if (walkFinished) {
+            int found = foundFiles.get();
+            String eta = filesPerSecond > 0 ? formatDuration((long) ((found - analyzed) / filesPerSecond)) : "?";
+            display.progress(String.format(Locale.ENGLISH, "%d/%d files, %.1f files/s, ETA %s%s", analyzed, found, filesPerSecond, eta, suffix), analyzed);
+        } else {
+            display.progress(String.format(Locale.ENGLISH, "%d files analyzed, %d found, %.1f files/s%s", analyzed, foundFiles.get(), filesPerSecond, suffix));
+        }
+    }
+
+    /**
+     * Only one thread update display by interval
+     */
+    private boolean isUpdateTime() {
+        long now = nanoTime.getAsLong();
+        long next = nextUpdateNanos.get();
+        return now - next >= 0 && nextUpdateNanos.compareAndSet(next, now + updateIntervalNanos);
+    }
+
+    static String formatDuration(long seconds) {
+        if (seconds >= 3600) {
+            return String.format(Locale.ENGLISH, "%d:%02d:%02d", seconds / 3600, (seconds / 60) % 60, seconds % 60);
+        }
+        return String.format(Locale.ENGLISH, "%d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -19,12 +19,21 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import org.netbeans.api.progress.ProgressHandle;
@@ -32,8 +41,9 @@ import org.openide.nodes.Node;
 import org.openide.util.Cancellable;
 import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
-import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.AnalysisResults;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 import org.sonarsource.sonarlint.core.client.api.exceptions.CanceledException;
 
 /**
@@ -77,45 +87,182 @@ public class SonarLintAnalyzerCancelableTask implements Runnable, Cancellable {
         sonarLintAnalyzerContainer.starting();
         handle.progress(0);
         handle.progress("Init");
-        List<File> files = SonarLintUtils.toFiles(nodes);
-        // Exclude file supposed not analyzed by an analyzer
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        List<String> fileSuffix = sonarLintEngine.getPluginDetails().stream().map(PluginDetails::key).collect(Collectors.toList());
-        List<String> uriFormFiles = files.stream()
-            .filter(file -> {
-                String[] absolutePathsplit = file.getAbsolutePath().split("\\.");
-                return absolutePathsplit.length > 0 && fileSuffix.contains(absolutePathsplit[absolutePathsplit.length - 1]);
-            })
-            .map(File::toPath)
-            .map(Path::toUri)
-            .map(URI::getPath)
-            .collect(Collectors.toList());
-        int maxFileSupposedAnalyzed = uriFormFiles.size();
-        handle.switchToDeterminate(maxFileSupposedAnalyzed);
+        if (sonarLintEngine == null) {
+            sonarLintAnalyzerContainer.ending();
+            handle.finish();
+            return;
+        }
+        // Files of bundled analyzers only, out of excluded directories
+        SonarLintFileWalker sonarLintFileWalker = SonarLintUtils.toFileWalker(
+            sonarLintEngine,
+            Lookup.getDefault().lookup(SonarLintOptions.class)
+        );
+        handle.setDisplayName("SonarLint Analyzer");
+        // Files are found by walk and read by analyses running concurrently
+        SonarLintAnalysisProgress progress = new SonarLintAnalysisProgress(new SonarLintAnalysisProgress.Display() {
+            @Override
+            public void switchToDeterminate(int workunits) {
+                handle.switchToDeterminate(workunits);
+            }
+
+            @Override
+            public void progress(String message) {
+                handle.progress(message);
+            }
+
+            @Override
+            public void progress(String message, int workunit) {
+                handle.progress(message, workunit);
+            }
+        });
         ClientInputFileListener clientInputFileInputStreamEvent = (URI uri) -> {
             if (!canceled.get()) {
-                uriFormFiles.remove(uri.getPath());
-                handle.setDisplayName("SonarLint Analyzer");
-                handle.progress(maxFileSupposedAnalyzed - uriFormFiles.size());
-                handle.progress(SonarLintUtils.toTruncateURI(uri, 75));
+                progress.fileAnalyzed(uri);
             }
         };
+        // Files unchanged since previous analysis of same roots are not analyzed again
+        List<Path> roots = SonarLintUtils.toPaths(nodes);
+        SonarLintAnalysisManifest manifest = SonarLintAnalysisManifest.of(roots, sonarLintEngine);
+        SonarLintBatchAnalyzer sonarLintBatchAnalyzer = new SonarLintBatchAnalyzer(
+            sonarLintEngine,
+            issue -> {
+                manifest.addIssue(issue);
+                sonarLintAnalyzerContainer.handle(issue);
+            },
+            clientInputFileInputStreamEvent,
+            SonarLintUtils.toProgressMonitor(this),
+            SonarLintBatchAnalyzer.DEFAULT_BATCH_SIZE,
+            SonarLintBatchAnalyzer.getBatchParallelism(sonarLintEngine)
+        );
+        WalkedFiles walkedFiles = new WalkedFiles(sonarLintEngine, manifest, sonarLintBatchAnalyzer, progress);
+        boolean walked = true;
         try {
-            AnalysisResults analyze = SonarLintUtils.analyze(
-                files,
-                sonarLintAnalyzerContainer,
-                clientInputFileInputStreamEvent,
-                this
-            );
+            // Found files are analyzed by batches during walk
+            for (Path path : roots) {
+                sonarLintFileWalker.walk(path, walkedFiles, this::isCanceled);
+            }
+        } catch (IOException ex) {
+            walked = false;
+            Exceptions.printStackTrace(ex);
+        }
+        if (!canceled.get()) {
+            // Files of analyzers still loading are analyzed once loaded
+            walkedFiles.dispatchLoaded(true);
+            progress.walkFinished();
+        }
+        try {
+            // Wait analyses of batches already submitted, even if walk failed
+            AnalysisResults analyze = sonarLintBatchAnalyzer.finish();
             if (analyze.failedAnalysisFiles().size() > 0) {
                 LOG.warning("SonarLint analyze finish with \"" + analyze.failedAnalysisFiles().size() + "\" failed analysis files.");
             }
+            // Manifest of a partial analysis would forget files not walked
+            if (walked && !canceled.get()) {
+                manifest.recordAnalyzedFiles(
+                    analyze.failedAnalysisFiles().stream()
+                        .map(failedFile -> Paths.get(failedFile.uri()))
+                        .collect(Collectors.toList())
+                );
+                manifest.save();
+            }
         } catch (CanceledException ex) {
             LOG.info("SonarLint analyze canceled");
-        } catch (IOException ex) {
-            Exceptions.printStackTrace(ex);
         }
         sonarLintAnalyzerContainer.ending();
         handle.finish();
     }
+
+    /**
+     * Give walked files to manifest then to batch analyzer once analyzers of
+     * their languages are loaded. Files of languages whose analyzers are
+     * loading are kept aside, walk goes on meanwhile.
+     */
+    private final class WalkedFiles implements Consumer<Path> {
+        private final SonarLintEngine sonarLintEngine;
+        private final SonarLintAnalysisManifest manifest;
+        private final SonarLintBatchAnalyzer sonarLintBatchAnalyzer;
+        private final SonarLintAnalysisProgress progress;
+        // Fingerprint of rules of languages whose analyzers are loaded
+        private final Map<Set<Language>, String> rulesByLanguages = new HashMap<>();
+        private final Map<Set<Language>, CompletableFuture<Void>> loadingLanguages = new HashMap<>();
+        private final Map<Set<Language>, List<Path>> filesOfLoadingLanguages = new HashMap<>();
+
+        private WalkedFiles(
+            SonarLintEngine sonarLintEngine,
+            SonarLintAnalysisManifest manifest,
+            SonarLintBatchAnalyzer sonarLintBatchAnalyzer,
+            SonarLintAnalysisProgress progress
+        ) {
+            this.sonarLintEngine = sonarLintEngine;
+            this.manifest = manifest;
+            this.sonarLintBatchAnalyzer = sonarLintBatchAnalyzer;
+            this.progress = progress;
+        }
+
+        @Override
+        public void accept(Path file) {
+            progress.fileFound(file.toAbsolutePath().toUri());
+            Set<Language> languages = sonarLintEngine.getLanguageRegistry().getLanguages(file.getFileName().toString());
+            List<Path> filesOfLanguages = filesOfLoadingLanguages.get(languages);
+            if (filesOfLanguages != null) {
+                filesOfLanguages.add(file);
+            } else if (rulesByLanguages.containsKey(languages)) {
+                dispatch(file, languages);
+            } else {
+                CompletableFuture<Void> loaded = sonarLintEngine.requireLanguages(languages);
+                if (loaded.isDone()) {
+                    dispatch(file, languages);
+                } else {
+                    loadingLanguages.put(languages, loaded);
+                    filesOfLoadingLanguages.computeIfAbsent(languages, key -> new ArrayList<>()).add(file);
+                }
+            }
+            dispatchLoaded(false);
+        }
+
+        /**
+         * Dispatch files kept aside whose analyzers are loaded
+         * @param wait true to wait analyzers still loading, once walk is finished
+         */
+        private void dispatchLoaded(boolean wait) {
+            for (Iterator<Map.Entry<Set<Language>, CompletableFuture<Void>>> iterator = loadingLanguages.entrySet().iterator(); iterator.hasNext();) {
+                Map.Entry<Set<Language>, CompletableFuture<Void>> loading = iterator.next();
+                if (wait) {
+                    // Completed even if loading failed
+                    loading.getValue().join();
+                }
+                if (loading.getValue().isDone()) {
+                    iterator.remove();
+                    for (Path file : filesOfLoadingLanguages.remove(loading.getKey())) {
+                        dispatch(file, loading.getKey());
+                    }
+                }
+            }
+        }
+
+        private void dispatch(Path file, Set<Language> languages) {
+            // Rules of languages loaded on demand are only known once their analyzers are loaded
+            String rules = rulesByLanguages.computeIfAbsent(
+                languages,
+                key -> sonarLintEngine.getRuleActivation().forLanguages(key).getFingerprint()
+            );
+            Optional<List<Issue>> unchangedIssues = getUnchangedIssues(manifest, file, rules);
+            if (unchangedIssues.isPresent()) {
+                unchangedIssues.get().forEach(sonarLintAnalyzerContainer::handle);
+                progress.fileAnalyzed(file.toAbsolutePath().toUri());
+            } else {
+                sonarLintBatchAnalyzer.accept(file);
+            }
+        }
+    }
+
+    private static Optional<List<Issue>> getUnchangedIssues(SonarLintAnalysisManifest manifest, Path file, String rules) {
+        try {
+            return manifest.getUnchangedIssues(file, rules);
+        } catch (IOException ex) {
+            LOG.log(Level.FINE, "Unable to check file \"" + file + "\", file is analyzed", ex);
+            return Optional.empty();
+        }
+    }
 }
@@ -19,19 +19,14 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
-import java.io.File;
 import java.net.URI;
-import org.openide.filesystems.FileObject;
-import org.openide.filesystems.FileUtil;
+import java.util.Optional;
 import org.openide.loaders.DataObject;
-import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.nodes.Node;
 import org.openide.text.Line;
 import org.openide.text.NbDocument;
-import org.openide.util.Exceptions;
 import org.openide.util.HelpCtx;
 import org.openide.util.actions.NodeAction;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
 
 /**
  *
@@ -44,25 +39,34 @@ public class SonarLintAnalyzerOpenIssueInFileAction extends NodeAction {
             final SonarLintAnalyserIssueNode issueNode = n.getLookup().lookup(
                     SonarLintAnalyserIssueNode.class);
             if (issueNode != null) {
-                DefaultClientIssue issue = issueNode.getIssue();
-                URI uri = issue.getInputFile().uri();
-                FileObject toFileObject = FileUtil.toFileObject(new File(uri));
-                if (toFileObject != null) {
-                    try {
-                        DataObject find = DataObject.find(toFileObject);
-                        if (find != null) {
-                            Integer startLine = issue.getStartLine();
-                            Integer startLineOffset = issue.getStartLineOffset();
-                            NbDocument.openDocument(
-                                find,
-                                startLine != null ? startLine - 1 : 0, 
-                                startLineOffset != null ? startLineOffset : 0,
-                                Line.ShowOpenType.OPEN,
-                                Line.ShowVisibilityType.FOCUS
-                            );
-                        }
-                    } catch (DataObjectNotFoundException ex) {
-                        Exceptions.printStackTrace(ex);
+                URI uri = issueNode.getURI();
+                Optional<DataObject> dataObject = uri == null
+                    ? Optional.empty()
+                    : SonarLintDataObjectCache.find(uri);
+                if (dataObject.isPresent()) {
+                    DataObject find = dataObject.get();
+                    Integer startLine = issueNode.getStartLine();
+                    Integer startLineOffset = issueNode.getStartLineOffset();
+                    Optional<SonarLintLineOffsets> lineOffsets = SonarLintAnnotationHandler.getLineOffsets(find.getPrimaryFile());
+                    if (lineOffsets.isPresent()) {
+                        // Document opened and unchanged since last annotated analysis
+                        NbDocument.openDocument(
+                            find,
+                            lineOffsets.get().getOffset(
+                                startLine != null ? startLine : 1,
+                                startLineOffset != null ? startLineOffset : 0
+                            ),
+                            Line.ShowOpenType.OPEN,
+                            Line.ShowVisibilityType.FOCUS
+                        );
+                    } else {
+                        NbDocument.openDocument(
+                            find,
+                            startLine != null ? startLine - 1 : 0, 
+                            startLineOffset != null ? startLineOffset : 0,
+                            Line.ShowOpenType.OPEN,
+                            Line.ShowVisibilityType.FOCUS
+                        );
                     }
                 }
             }
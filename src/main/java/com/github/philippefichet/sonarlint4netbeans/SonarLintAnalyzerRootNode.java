@@ -21,12 +21,17 @@ package com.github.philippefichet.sonarlint4netbeans;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.swing.Action;
+import javax.swing.SwingUtilities;
 import javax.swing.event.TreeModelEvent;
 import javax.swing.event.TreeModelListener;
 import javax.swing.tree.TreePath;
 import org.openide.nodes.AbstractNode;
-import org.sonarsource.sonarlint.core.analyzer.issue.DefaultClientIssue;
+import org.openide.util.RequestProcessor;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.IssueListener;
 
@@ -36,46 +41,108 @@ import org.sonarsource.sonarlint.core.client.api.common.analysis.IssueListener;
  */
 public class SonarLintAnalyzerRootNode extends AbstractNode implements IssueListener {
 
-    private final List<TreeModelListener> listeners = new ArrayList<>();
+    /**
+     * Issues received are published to children at most once by interval
+     */
+    public static final int PUBLISH_INTERVAL_MS = 250;
+    private static final RequestProcessor PUBLISHER = new RequestProcessor(SonarLintAnalyzerRootNode.class.getName(), 1, true);
+    private final List<TreeModelListener> listeners = new CopyOnWriteArrayList<>();
     private final SonarLintAnalyserIssueSeverityChildren children;
-    private int flatChildCount = 0;
+    private final SonarLintIssueStore store;
+    private final Queue<Issue> pendingIssues = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean publishScheduled = new AtomicBoolean(false);
+    private final RequestProcessor.Task publishTask = PUBLISHER.create(this::publish);
+    // Changes waiting to be notified on EDT
+    private final AtomicBoolean notificationScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean nodesInserted = new AtomicBoolean(false);
+    private volatile int flatChildCount = 0;
+    private volatile boolean running = false;
+    private volatile boolean ended = false;
 
     public SonarLintAnalyzerRootNode() {
-        super(new SonarLintAnalyserIssueSeverityChildren());
+        this(new SonarLintIssueStore());
+    }
+
+    private SonarLintAnalyzerRootNode(SonarLintIssueStore store) {
+        super(new SonarLintAnalyserIssueSeverityChildren(store));
+        this.store = store;
         children = (SonarLintAnalyserIssueSeverityChildren)getChildren();
         setDisplayName("Analyze waiting start");
         setIconBaseWithExtension("com/github/philippefichet/sonarlint4netbeans/resources/sonarlint.png");
     }
 
     public void starting() {
-        updateStartingTitle();
+        // Files may have been created or deleted since last analysis
+        SonarLintDataObjectCache.clear();
+        ended = false;
+        running = true;
+        scheduleNotification();
     }
 
+    /**
+     * Publish issues still pending, title is updated once issues are published
+     */
     public void ending() {
-        int count = children.getIssuesCount();
-        if (count > 1) {
-            setDisplayName("Analyze done, " + count + " issues found");
-        } else {
-            setDisplayName("Analyze done, " + count + " issue found");
-        }
+        publish();
+        ended = true;
+        scheduleNotification();
     }
-    
-    private void updateStartingTitle() {
-        if (flatChildCount > 1) {
-            setDisplayName("Analyze running, " + flatChildCount + " issues found");
-        } else {
-            setDisplayName("Analyze running, " + flatChildCount + " issue found");
+
+    private void updateTitle() {
+        int count = flatChildCount;
+        String issues = count > 1 ? " issues found" : " issue found";
+        if (ended) {
+            setDisplayName("Analyze done, " + count + issues);
+        } else if (running) {
+            setDisplayName("Analyze running, " + count + issues);
         }
     }
 
     @Override
     public void handle(Issue issue) {
-        if (issue instanceof DefaultClientIssue) {
-            flatChildCount++;
-            children.addIssue(issue);
-            updateStartingTitle();
+        pendingIssues.add(issue);
+        if (publishScheduled.compareAndSet(false, true)) {
+            publishTask.schedule(PUBLISH_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * Publish all pending issues to children as one batch,
+     * issues are moved to store and only referenced by their identifier
+     */
+    private synchronized void publish() {
+        publishScheduled.set(false);
+        List<Integer> batch = new ArrayList<>();
+        Issue issue;
+        while ((issue = pendingIssues.poll()) != null) {
+            batch.add(store.add(issue));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        children.addIssues(batch);
+        flatChildCount += batch.size();
+        nodesInserted.set(true);
+        scheduleNotification();
+    }
+
+    /**
+     * Changes are notified on EDT, changes made before notification
+     * are notified together by only one event
+     */
+    private void scheduleNotification() {
+        if (notificationScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::notifyChanges);
+        }
+    }
+
+    private void notifyChanges() {
+        notificationScheduled.set(false);
+        updateTitle();
+        if (nodesInserted.getAndSet(false)) {
+            TreeModelEvent event = new TreeModelEvent(this, (TreePath)null);
             for (TreeModelListener listener : listeners) {
-                listener.treeNodesInserted(new TreeModelEvent(this, (TreePath)null));
+                listener.treeNodesInserted(event);
             }
         }
     }
@@ -85,11 +152,11 @@ public class SonarLintAnalyzerRootNode extends AbstractNode implements IssueList
     }
 
     public void removeTreeModelListener(TreeModelListener l) {
-        listeners.add(l);
+        listeners.remove(l);
     }
 
     @Override
     public Action[] getActions(boolean context) {
         return new Action[] {};
     }
-}
\ No newline at end of file
+}
@@ -19,6 +19,7 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
+import javax.swing.text.Position;
 import org.openide.text.Annotation;
 /**
  *
@@ -33,14 +34,22 @@ public class SonarLintAnnotation extends Annotation {
     public static final String ANNOTATION_TYPE_CRITIAL = "com-github-philippefichet-sonarlint4netbeans-annotation-critical";
     public static final String ANNOTATION_TYPE_BLOCKER = "com-github-philippefichet-sonarlint4netbeans-annotation-blocker";
     private final long startOffest;
+    // Follows modifications of document once annotation is added to it
+    private volatile Position startPosition;
     private final int length;
     private final String shortDescription;
     private final String ruleKey;
     private final String ruleName;
     private final String severity;
+    private final String message;
 
     public SonarLintAnnotation(String ruleKey, String ruleName, String severity, long startOffest, int length) {
+        this(ruleKey, ruleName, severity, null, startOffest, length);
+    }
+
+    public SonarLintAnnotation(String ruleKey, String ruleName, String severity, String message, long startOffest, int length) {
         super();
+        this.message = message;
         this.startOffest = startOffest;
         this.length = length;
         this.ruleKey = ruleKey;
@@ -49,8 +58,21 @@ public class SonarLintAnnotation extends Annotation {
         this.shortDescription = ruleKey + "\n" + ruleName + "\nClick to show details";
     }
 
+    /**
+     * Retrieve start offset of annotation, current offset in document once added to it
+     * @return start offset of annotation
+     */
     public long getStartOffest() {
-        return startOffest;
+        Position position = startPosition;
+        return position == null ? startOffest : position.getOffset();
+    }
+
+    /**
+     * Attach annotation to a position of its document
+     * @param startPosition position of start of annotation in document
+     */
+    public void setStartPosition(Position startPosition) {
+        this.startPosition = startPosition;
     }
 
     public int getLength() {
@@ -91,4 +113,12 @@ public class SonarLintAnnotation extends Annotation {
     public String getSeverity() {
         return severity;
     }
+
+    /**
+     * Retrieve message of issue
+     * @return message of issue or null if unknown
+     */
+    public String getMessage() {
+        return message;
+    }
 }
@@ -22,18 +22,28 @@ package com.github.philippefichet.sonarlint4netbeans;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import javax.swing.text.Position;
+import javax.swing.text.StyledDocument;
 import org.openide.cookies.EditorCookie;
 import org.openide.filesystems.FileObject;
 import org.openide.loaders.DataObject;
 import org.openide.loaders.DataObjectNotFoundException;
 import org.openide.text.NbDocument;
+import org.sonarsource.sonarlint.core.client.api.common.ProgressMonitor;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 
 /**
@@ -42,7 +52,17 @@ import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
  */
 public final class SonarLintAnnotationHandler {
 
-    private static final Map<FileObject, List<SonarLintAnnotation>> ANNOTATIONS_BY_FILEOBJECT = Collections.synchronizedMap(new HashMap<FileObject, List<SonarLintAnnotation>>());
+    static final int MAXIMUM_ANNOTATED_FILES = 512;
+    static final long MAXIMUM_ANNOTATIONS = 100_000;
+    // Annotations of files opened in editor, forgotten with file and evicted beyond bounds
+    private static final SonarLintWeakRegistry<FileObject, FileAnnotations> ANNOTATIONS_BY_FILEOBJECT = new SonarLintWeakRegistry<>(
+        MAXIMUM_ANNOTATED_FILES,
+        MAXIMUM_ANNOTATIONS,
+        fileAnnotations -> fileAnnotations.index.getAnnotations().size() + 1L,
+        SonarLintAnnotationHandler::detachAnnotations
+    );
+    private static final String LINE_OFFSETS_LISTENER_PROPERTY = SonarLintAnnotationHandler.class.getName() + ".lineOffsetsListener";
+    private static final String CLOSE_LISTENER_PROPERTY = SonarLintAnnotationHandler.class.getName() + ".closeListener";
 
     private SonarLintAnnotationHandler() {
     }
@@ -54,51 +74,85 @@ public final class SonarLintAnnotationHandler {
         String shortDescription
     )
     {
-        List<SonarLintAnnotation> sonarlintAnnotaions = ANNOTATIONS_BY_FILEOBJECT.get(fileObject);
-        if (sonarlintAnnotaions != null) {
-            for (SonarLintAnnotation sonarlintAnnotaion : sonarlintAnnotaions) {
-                if (sonarlintAnnotaion.getStartOffest() == startOffset
-                    && sonarlintAnnotaion.getLength() == length
-                    && sonarlintAnnotaion.getShortDescription().equals(shortDescription)
-                ) {
-                    return Optional.of(sonarlintAnnotaion);
-                }
-            }
-        }
-        return Optional.empty();
+        return getSonarLintAnnotationIndex(fileObject).find(startOffset, length, shortDescription);
+    }
+
+    /**
+     * Retrieve annotations of file sorted by offset
+     * @param fileObject file opened in editor
+     * @return annotations of file, empty if file is not annotated
+     */
+    public static SonarLintAnnotationIndex getSonarLintAnnotationIndex(FileObject fileObject) {
+        return ANNOTATIONS_BY_FILEOBJECT.get(fileObject)
+            .map(FileAnnotations::getIndex)
+            .orElse(SonarLintAnnotationIndex.empty());
+    }
+
+    /**
+     * Retrieve line offsets of file if its document is not modified since last annotated analysis
+     * @param fileObject file opened in editor
+     * @return line offsets of document or empty if unknown or outdated
+     */
+    public static Optional<SonarLintLineOffsets> getLineOffsets(FileObject fileObject) {
+        return ANNOTATIONS_BY_FILEOBJECT.get(fileObject)
+            .map(fileAnnotations -> fileAnnotations.lineOffsets);
+    }
+
+    /**
+     * Retrieve number of files with annotations kept in memory
+     * @return number of annotated files
+     */
+    public static int getAnnotatedFileCount() {
+        return ANNOTATIONS_BY_FILEOBJECT.size();
     }
 
-    public static void analyze(SonarLintEngine standaloneSonarLintEngineImpl, FileObject fileObject, String textToAnalyze) throws DataObjectNotFoundException, IOException {
+    /**
+     * Retrieve weight of annotations kept in memory, one per annotation and one per file
+     * @return weight of annotations
+     */
+    public static long getAnnotationsWeight() {
+        return ANNOTATIONS_BY_FILEOBJECT.getWeight();
+    }
+
+    public static void analyze(SonarLintEngine standaloneSonarLintEngineImpl, FileObject fileObject, CharSequence textToAnalyze) throws DataObjectNotFoundException, IOException {
+        analyze(standaloneSonarLintEngineImpl, fileObject, textToAnalyze, null, () -> true, null);
+    }
+
+    /**
+     * Analyze text of file and replace annotations of file with issues found
+     * @param standaloneSonarLintEngineImpl engine to use
+     * @param fileObject analyzed file
+     * @param textToAnalyze text of file
+     * @param monitor monitor to cancel analysis, can be null
+     * @param applicable checked before replacing annotations, false if analyzed text is outdated
+     * @param engineDurationListener receive duration in milliseconds of analysis by engine,
+     * not called when issues are cached, can be null
+     * @throws DataObjectNotFoundException if file has no DataObject
+     * @throws IOException if file cannot be read
+     */
+    public static void analyze(SonarLintEngine standaloneSonarLintEngineImpl, FileObject fileObject, CharSequence textToAnalyze, ProgressMonitor monitor, BooleanSupplier applicable, LongConsumer engineDurationListener) throws DataObjectNotFoundException, IOException {
         // Sonarlint not ready
         if (standaloneSonarLintEngineImpl == null) {
             return;
         }
         final EditorCookie editorCookie = DataObject.find(fileObject).getCookie(EditorCookie.class);
-        List<SonarLintAnnotation> currentAnnocationOnFileObject = new ArrayList<>();
-        List<SonarLintAnnotation> previousAnnotationOnFileObject = ANNOTATIONS_BY_FILEOBJECT.get(fileObject);
-
-        if (previousAnnotationOnFileObject == null) {
-            previousAnnotationOnFileObject = new ArrayList<>();
-            ANNOTATIONS_BY_FILEOBJECT.put(fileObject, previousAnnotationOnFileObject);
-            final EditorCookie.Observable cookie = DataObject.find(fileObject)
-                    .getCookie(EditorCookie.Observable.class);
-
-            // Remove annotation when close
-            cookie.addPropertyChangeListener(new PropertyChangeListener() {
-                @Override
-                public void propertyChange(PropertyChangeEvent evt) {
-                    String propertyName = evt.getPropertyName();
-                    if ((propertyName == null
-                            || EditorCookie.Observable.PROP_OPENED_PANES.equals(propertyName))
-                            && editorCookie.getOpenedPanes() == null) {
-                        ANNOTATIONS_BY_FILEOBJECT.remove(fileObject);
-                        cookie.removePropertyChangeListener(this);
-                    }
-                }
-            });
+        List<Issue> issues = SonarLintUtils.analyze(fileObject, textToAnalyze, SonarLintEngine.AnalysisPriority.INTERACTIVE, monitor, engineDurationListener);
+        // Issues of outdated text would be placed on wrong offsets
+        if (!applicable.getAsBoolean()) {
+            return;
         }
-
-        List<Issue> issues = SonarLintUtils.analyze(fileObject, textToAnalyze);
+        StyledDocument document = editorCookie.getDocument();
+        // File closed during analysis, nothing to annotate nor to remember
+        if (document == null) {
+            return;
+        }
+        registerCloseListener(fileObject, editorCookie, document);
+        SonarLintAnnotationIndex previousAnnotationOnFileObject = ANNOTATIONS_BY_FILEOBJECT.get(fileObject)
+            .filter(fileAnnotations -> fileAnnotations.document.get() == document)
+            .map(fileAnnotations -> fileAnnotations.index)
+            .orElse(SonarLintAnnotationIndex.empty());
+        SonarLintLineOffsets lineOffsets = SonarLintLineOffsets.of(textToAnalyze == null ? fileObject.asText() : textToAnalyze);
+        Map<AnnotationKey, SonarLintAnnotation> currentAnnotations = new LinkedHashMap<>();
         issues.forEach(sue -> {
             Integer startLine = sue.getStartLine();
             Integer endLine = sue.getEndLine();
@@ -111,51 +165,222 @@ public final class SonarLintAnnotationHandler {
                 endLineOffset = 0;
             }
 
-            int nbStartLineOffset = NbDocument.findLineOffset(editorCookie.getDocument(), startLine - 1);
-            int startOffset = nbStartLineOffset + startLineOffset;
-            int nbEndLineOffset = NbDocument.findLineOffset(editorCookie.getDocument(), endLine - 1);
-            int endOffset = nbEndLineOffset + endLineOffset;
+            int startOffset = lineOffsets.getOffset(startLine, startLineOffset);
+            int endOffset = lineOffsets.getOffset(endLine, endLineOffset);
             int length = endOffset - startOffset;
-            currentAnnocationOnFileObject.add(
-                new SonarLintAnnotation(
-                    sue.getRuleKey(),
-                    sue.getRuleName(),
-                    sue.getSeverity(),
-                    startOffset,
-                    length
-                )
+            SonarLintAnnotation sonarLintAnnotation = new SonarLintAnnotation(
+                sue.getRuleKey(),
+                sue.getRuleName(),
+                sue.getSeverity(),
+                sue.getMessage(),
+                startOffset,
+                length
             );
+            currentAnnotations.putIfAbsent(new AnnotationKey(sonarLintAnnotation), sonarLintAnnotation);
         });
 
-        // Remove all previous Sonarlint annotations
-        for (SonarLintAnnotation sonarLintAnnotation : previousAnnotationOnFileObject) {
-            NbDocument.removeAnnotation(editorCookie.getDocument(), sonarLintAnnotation);
+        // Keep annotations of unchanged issues, only appeared and disappeared issues are applied
+        List<SonarLintAnnotation> removedAnnotations = new ArrayList<>();
+        List<SonarLintAnnotation> keptAnnotations = new ArrayList<>();
+        // Previous annotations are matched on their current offset, moved by modifications of document
+        document.render(() -> {
+            for (SonarLintAnnotation previousAnnotation : previousAnnotationOnFileObject.getAnnotations()) {
+                AnnotationKey key = new AnnotationKey(previousAnnotation);
+                if (currentAnnotations.remove(key) != null) {
+                    keptAnnotations.add(previousAnnotation);
+                } else {
+                    removedAnnotations.add(previousAnnotation);
+                }
+            }
+        });
+        Collection<SonarLintAnnotation> addedAnnotations = currentAnnotations.values();
+        registerLineOffsetsListener(fileObject, document);
+        // Current annotation become futur previous annotation
+        keptAnnotations.addAll(addedAnnotations);
+        FileAnnotations fileAnnotations = new FileAnnotations(SonarLintAnnotationIndex.of(keptAnnotations), document);
+        ANNOTATIONS_BY_FILEOBJECT.put(fileObject, fileAnnotations);
+        // Registered before, a modification of document will clear line offsets
+        document.render(() -> {
+            if (document.getLength() == lineOffsets.getLength()) {
+                fileAnnotations.lineOffsets = lineOffsets;
+            }
+        });
+        if (!removedAnnotations.isEmpty() || !addedAnnotations.isEmpty()) {
+            document.render(() -> {
+                for (SonarLintAnnotation sonarLintAnnotation : removedAnnotations) {
+                    NbDocument.removeAnnotation(document, sonarLintAnnotation);
+                }
+                for (SonarLintAnnotation sonarLintAnnotation : addedAnnotations) {
+                    Position startPosition;
+                    try {
+                        startPosition = NbDocument.createPosition(
+                            document,
+                            (int) Math.min(sonarLintAnnotation.getStartOffest(), document.getLength()),
+                            Position.Bias.Forward
+                        );
+                    } catch (BadLocationException ex) {
+                        // Offset is bounded by length of document
+                        throw new IllegalStateException(ex);
+                    }
+                    sonarLintAnnotation.setStartPosition(startPosition);
+                    NbDocument.addAnnotation(document, startPosition, sonarLintAnnotation.getLength(), sonarLintAnnotation);
+                    sonarLintAnnotation.moveToFront();
+                }
+            });
         }
+    }
 
-        // Add current issue as annotations
-        for (final SonarLintAnnotation sonarLintAnnotation : currentAnnocationOnFileObject) {
-            NbDocument.addAnnotation(
-                editorCookie.getDocument(),
-                new PositionImpl(sonarLintAnnotation), sonarLintAnnotation.getLength(), sonarLintAnnotation
-            );
-            sonarLintAnnotation.moveToFront();
+    /**
+     * Forget annotations of file once its editor is closed
+     * @param fileObject file opened in editor
+     * @param editorCookie editor of file
+     * @param document document of file
+     * @throws DataObjectNotFoundException if file has no DataObject
+     */
+    private static void registerCloseListener(FileObject fileObject, EditorCookie editorCookie, Document document) throws DataObjectNotFoundException {
+        if (document.getProperty(CLOSE_LISTENER_PROPERTY) != null) {
+            return;
+        }
+        final EditorCookie.Observable cookie = DataObject.find(fileObject)
+                .getCookie(EditorCookie.Observable.class);
+        if (cookie == null) {
+            return;
         }
+        document.putProperty(CLOSE_LISTENER_PROPERTY, Boolean.TRUE);
+        // Remove annotation when close
+        cookie.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                String propertyName = evt.getPropertyName();
+                if ((propertyName == null
+                        || EditorCookie.Observable.PROP_OPENED_PANES.equals(propertyName))
+                        && editorCookie.getOpenedPanes() == null) {
+                    ANNOTATIONS_BY_FILEOBJECT.remove(fileObject);
+                    document.putProperty(CLOSE_LISTENER_PROPERTY, null);
+                    cookie.removePropertyChangeListener(this);
+                }
+            }
+        });
+    }
 
-        // Current annotation become futur previous annotation
-        ANNOTATIONS_BY_FILEOBJECT.put(fileObject, currentAnnocationOnFileObject);
+    /**
+     * Remove annotations evicted from memory of their document, if still opened
+     * @param fileAnnotations evicted annotations
+     */
+    private static void detachAnnotations(FileAnnotations fileAnnotations) {
+        StyledDocument document = fileAnnotations.document.get();
+        if (document == null) {
+            return;
+        }
+        document.render(() -> {
+            for (SonarLintAnnotation sonarLintAnnotation : fileAnnotations.index.getAnnotations()) {
+                NbDocument.removeAnnotation(document, sonarLintAnnotation);
+            }
+        });
+    }
+
+    /**
+     * Forget line offsets and outdate index of file once its document is modified
+     * @param fileObject file opened in editor
+     * @param document document of file
+     */
+    private static void registerLineOffsetsListener(FileObject fileObject, Document document) {
+        if (document.getProperty(LINE_OFFSETS_LISTENER_PROPERTY) != null) {
+            return;
+        }
+        DocumentListener documentListener = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                documentModified(fileObject);
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                documentModified(fileObject);
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attributes changes do not move lines
+            }
+        };
+        document.putProperty(LINE_OFFSETS_LISTENER_PROPERTY, documentListener);
+        document.addDocumentListener(documentListener);
     }
 
-    private static class PositionImpl implements Position {
+    private static void documentModified(FileObject fileObject) {
+        ANNOTATIONS_BY_FILEOBJECT.get(fileObject)
+            .ifPresent(FileAnnotations::documentModified);
+    }
 
-        private final SonarLintAnnotation sonarLintAnnotation;
+    /**
+     * Annotations of a file and document on which they are added
+     */
+    static final class FileAnnotations {
+        private volatile SonarLintAnnotationIndex index;
+        private final WeakReference<StyledDocument> document;
+        // Line offsets of annotated text, removed once document is modified
+        private volatile SonarLintLineOffsets lineOffsets;
+        // Annotations follow modifications of document, index is rebuilt from their current offsets
+        private volatile boolean indexOutdated;
 
-        public PositionImpl(SonarLintAnnotation sonarLintAnnotation) {
-            this.sonarLintAnnotation = sonarLintAnnotation;
+        FileAnnotations(SonarLintAnnotationIndex index, StyledDocument document) {
+            this.index = index;
+            this.document = new WeakReference<>(document);
+        }
+
+        /**
+         * Retrieve index of annotations at their current offsets
+         * @return index of annotations
+         */
+        SonarLintAnnotationIndex getIndex() {
+            if (indexOutdated) {
+                indexOutdated = false;
+                index = SonarLintAnnotationIndex.of(index.getAnnotations());
+            }
+            return index;
+        }
+
+        void documentModified() {
+            lineOffsets = null;
+            indexOutdated = true;
+        }
+    }
+
+    /**
+     * Identity of an issue in document at current offset, annotations with same key are not re-created
+     */
+    private static final class AnnotationKey {
+        private final String ruleKey;
+        private final long startOffset;
+        private final int length;
+        private final String message;
+
+        private AnnotationKey(SonarLintAnnotation sonarLintAnnotation) {
+            this.ruleKey = sonarLintAnnotation.getRuleKey();
+            this.startOffset = sonarLintAnnotation.getStartOffest();
+            this.length = sonarLintAnnotation.getLength();
+            this.message = sonarLintAnnotation.getMessage();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ruleKey, startOffset, length, message);
         }
 
         @Override
-        public int getOffset() {
-            return (int) sonarLintAnnotation.getStartOffest();
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AnnotationKey)) {
+                return false;
+            }
+            AnnotationKey other = (AnnotationKey) obj;
+            return startOffset == other.startOffset
+                && length == other.length
+                && ruleKey.equals(other.ruleKey)
+                && Objects.equals(message, other.message);
         }
     }
 
@@ -0,0 +1,161 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Annotations of a file sorted by start offset to find annotations at an
+ * offset, in a range of offsets (a line) or next to an offset in O(log n)
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintAnnotationIndex {
+
+    private static final SonarLintAnnotationIndex EMPTY = new SonarLintAnnotationIndex(Collections.emptyList());
+    private final List<SonarLintAnnotation> annotations;
+    private final long[] startOffsets;
+    // Greatest end offset of annotations from first one to each one
+    private final long[] maxEndOffsets;
+
+    private SonarLintAnnotationIndex(List<SonarLintAnnotation> annotations) {
+        this.annotations = annotations;
+        this.startOffsets = new long[annotations.size()];
+        this.maxEndOffsets = new long[annotations.size()];
+        long maxEndOffset = Long.MIN_VALUE;
+        for (int i = 0; i < annotations.size(); i++) {
+            SonarLintAnnotation annotation = annotations.get(i);
+            startOffsets[i] = annotation.getStartOffest();
+            maxEndOffset = Math.max(maxEndOffset, annotation.getStartOffest() + annotation.getLength());
+            maxEndOffsets[i] = maxEndOffset;
+        }
+    }
+
+    public static SonarLintAnnotationIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create index of annotations
+     * @param annotations annotations of a file
+     * @return index of annotations
+     */
+    public static SonarLintAnnotationIndex of(List<SonarLintAnnotation> annotations) {
+        List<SonarLintAnnotation> sortedAnnotations = new ArrayList<>(annotations);
+        sortedAnnotations.sort(Comparator.comparingLong(SonarLintAnnotation::getStartOffest));
+        return new SonarLintAnnotationIndex(Collections.unmodifiableList(sortedAnnotations));
+    }
+
+    /**
+     * Retrieve all annotations sorted by start offset
+     * @return all annotations
+     */
+    public List<SonarLintAnnotation> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Search annotation by location and description
+     * @param startOffset start offset of annotation
+     * @param length length of annotation
+     * @param shortDescription description of annotation
+     * @return annotation or empty if not found
+     */
+    public Optional<SonarLintAnnotation> find(long startOffset, int length, String shortDescription) {
+        for (int i = firstIndexFrom(startOffset); i < startOffsets.length && startOffsets[i] == startOffset; i++) {
+            SonarLintAnnotation annotation = annotations.get(i);
+            if (annotation.getLength() == length && annotation.getShortDescription().equals(shortDescription)) {
+                return Optional.of(annotation);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retrieve annotations covering an offset
+     * @param offset offset in document
+     * @return annotations starting before or at offset and ending after or at offset
+     */
+    public List<SonarLintAnnotation> getAnnotationsAt(long offset) {
+        List<SonarLintAnnotation> annotationsAt = new ArrayList<>();
+        // Only annotations starting before offset and before an annotation ending after offset
+        for (int i = firstIndexFrom(offset + 1) - 1; i >= 0 && maxEndOffsets[i] >= offset; i--) {
+            SonarLintAnnotation annotation = annotations.get(i);
+            if (annotation.getStartOffest() + annotation.getLength() >= offset) {
+                annotationsAt.add(annotation);
+            }
+        }
+        Collections.reverse(annotationsAt);
+        return annotationsAt;
+    }
+
+    /**
+     * Retrieve annotations starting in a range of offsets, a line for example
+     * @param startOffset first offset of range
+     * @param endOffset offset after range
+     * @return annotations starting in range
+     */
+    public List<SonarLintAnnotation> getAnnotationsStartingIn(long startOffset, long endOffset) {
+        return annotations.subList(firstIndexFrom(startOffset), Math.max(firstIndexFrom(startOffset), firstIndexFrom(endOffset)));
+    }
+
+    /**
+     * Retrieve first annotation starting after offset
+     * @param offset offset in document
+     * @return next annotation or empty if none
+     */
+    public Optional<SonarLintAnnotation> next(long offset) {
+        int index = firstIndexFrom(offset + 1);
+        return index < annotations.size() ? Optional.of(annotations.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Retrieve last annotation starting before offset
+     * @param offset offset in document
+     * @return previous annotation or empty if none
+     */
+    public Optional<SonarLintAnnotation> previous(long offset) {
+        int index = firstIndexFrom(offset) - 1;
+        return index >= 0 ? Optional.of(annotations.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Binary search of first annotation starting at or after offset
+     * @param offset offset in document
+     * @return index of first annotation starting at or after offset, size if none
+     */
+    private int firstIndexFrom(long offset) {
+        int low = 0;
+        int high = startOffsets.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (startOffsets[middle] < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.netbeans.api.queries.FileEncodingQuery;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.util.RequestProcessor;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.sonarsource.sonarlint.core.client.api.common.ProgressMonitor;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.AnalysisResults;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.IssueListener;
+import org.sonarsource.sonarlint.core.client.api.exceptions.CanceledException;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneAnalysisConfiguration;
+import org.sonarsource.sonarlint.core.container.model.DefaultAnalysisResult;
+
+/**
+ * Analyze files of a project as they are found: files are grouped by
+ * languages to send only rules of these languages to engine and a group is
+ * analyzed as soon as it is full. Groups are analyzed concurrently, one per
+ * engine of batch analyses, issues are given to listener one at a time.
+ * Files are given by a single thread, the one walking them.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintBatchAnalyzer implements Consumer<Path> {
+
+    public static final int DEFAULT_BATCH_SIZE = 250;
+    private final SonarLintEngine sonarLintEngine;
+    private final IssueListener listener;
+    private final RequestProcessor requestProcessor;
+    private final List<CompletableFuture<Void>> analyses = new ArrayList<>();
+    private final ClientInputFileListener clientInputFileListener;
+    private final ProgressMonitor progressMonitor;
+    private final int batchSize;
+    private final SonarLintLanguageRegistry languageRegistry;
+    private final Path baseDir = new File(System.getProperty("user.home") + File.separator + ".sonarlint4netbeans").toPath();
+    private final Map<Set<Language>, List<FSClientInputFile>> clientInputFilesByLanguages = new LinkedHashMap<>();
+    private final DefaultAnalysisResult analysisResult = new DefaultAnalysisResult();
+    private final AtomicInteger indexedFileCount = new AtomicInteger();
+
+    /**
+     * @param sonarLintEngine engine to use
+     * @param listener receive issues found
+     * @param clientInputFileListener receive files read by analyzers
+     * @param progressMonitor monitor to cancel analysis
+     * @param batchSize number of files of a language analyzed together
+     * @param parallelism maximum number of groups analyzed concurrently
+     */
+    public SonarLintBatchAnalyzer(
+        SonarLintEngine sonarLintEngine,
+        IssueListener listener,
+        ClientInputFileListener clientInputFileListener,
+        ProgressMonitor progressMonitor,
+        int batchSize,
+        int parallelism
+    ) {
+        this.sonarLintEngine = sonarLintEngine;
+        // Listeners of issues are not expected to be thread safe
+        this.listener = issue -> {
+            synchronized (listener) {
+                listener.handle(issue);
+            }
+        };
+        this.requestProcessor = new RequestProcessor(SonarLintBatchAnalyzer.class.getName(), parallelism, true);
+        this.clientInputFileListener = clientInputFileListener;
+        this.progressMonitor = progressMonitor;
+        this.batchSize = batchSize;
+        this.languageRegistry = sonarLintEngine.getLanguageRegistry();
+    }
+
+    /**
+     * Retrieve number of groups analyzed concurrently by engine, first engine
+     * of pool is reserved to editor if pool has others engines. With default
+     * pool of one engine, groups are analyzed one at a time
+     * @param sonarLintEngine engine to use
+     * @return number of engines of batch analyses
+     */
+    public static int getBatchParallelism(SonarLintEngine sonarLintEngine) {
+        return Math.max(1, sonarLintEngine.getEnginePoolSize() - 1);
+    }
+
+    /**
+     * Add a file to analyze, its group is analyzed if full
+     * @param path file to analyze, ignored if no analyzer support it
+     */
+    @Override
+    public void accept(Path path) {
+        String fileName = path.getFileName().toString();
+        Set<Language> languages = languageRegistry.getLanguages(fileName);
+        if (languages.isEmpty()) {
+            // No bundled analyzer for this file
+            return;
+        }
+        // Map file to implementation of ClientInputFile, content is read only when analyzers request it
+        FileObject fileObject = FileUtil.toFileObject(path.toFile());
+        Charset encoding = fileObject == null ? Charset.defaultCharset() : FileEncodingQuery.getEncoding(fileObject);
+        List<FSClientInputFile> clientInputFiles = clientInputFilesByLanguages.computeIfAbsent(languages, key -> new ArrayList<>());
+        clientInputFiles.add(new FSClientInputFile(
+            path.toAbsolutePath(),
+            fileName,
+            fileObject != null && SonarLintUtils.isTest(fileObject),
+            encoding
+        ));
+        // Files are walked directory by directory, a group holds files of neighbouring directories
+        if (clientInputFiles.size() >= batchSize) {
+            clientInputFilesByLanguages.remove(languages);
+            submit(languages, clientInputFiles);
+        }
+    }
+
+    /**
+     * Analyze files of groups not yet full and wait end of all analyses,
+     * threads of analyses are released once done
+     * @return results of all analyzed files
+     * @throws CanceledException if analysis is canceled
+     */
+    public AnalysisResults finish() {
+        for (Map.Entry<Set<Language>, List<FSClientInputFile>> clientInputFiles : clientInputFilesByLanguages.entrySet()) {
+            submit(clientInputFiles.getKey(), clientInputFiles.getValue());
+        }
+        clientInputFilesByLanguages.clear();
+        try {
+            CompletableFuture.allOf(analyses.toArray(new CompletableFuture<?>[analyses.size()])).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            analyses.clear();
+            requestProcessor.stop();
+        }
+        synchronized (analysisResult) {
+            return analysisResult.setIndexedFileCount(indexedFileCount.get());
+        }
+    }
+
+    private void submit(Set<Language> languages, List<FSClientInputFile> clientInputFiles) {
+        // Group is analyzed once analyzers of its languages are loaded, no thread waits them
+        analyses.add(sonarLintEngine.requireLanguages(languages).thenRunAsync(() -> {
+            // Pending groups of a canceled analysis are never analyzed
+            if (!progressMonitor.isCanceled()) {
+                analyze(languages, clientInputFiles);
+            }
+        }, requestProcessor));
+    }
+
+    private void analyze(Set<Language> languages, List<FSClientInputFile> clientInputFiles) {
+        // Rules of languages loaded on demand are only known once languages are required
+        SonarLintRuleActivation languagesRuleActivation = sonarLintEngine.getRuleActivation().forLanguages(languages);
+        StandaloneAnalysisConfiguration standaloneAnalysisConfiguration =
+            StandaloneAnalysisConfiguration.builder()
+            .setBaseDir(baseDir)
+            .addInputFiles(clientInputFiles)
+            .addExcludedRules(languagesRuleActivation.getExcludedRules())
+            .addIncludedRules(languagesRuleActivation.getIncludedRules())
+            .addRuleParameters(languagesRuleActivation.getRuleParameters())
+            .build();
+
+        // Add listener only after configuration to prevent ClientInputFile.uri() call during configuration phase
+        clientInputFiles.forEach(file -> file.addListener(clientInputFileListener));
+        AnalysisResults languagesAnalyze = sonarLintEngine.analyze(
+            standaloneAnalysisConfiguration,
+            listener,
+            null,
+            progressMonitor,
+            SonarLintEngine.AnalysisPriority.BATCH
+        );
+        indexedFileCount.addAndGet(languagesAnalyze.indexedFileCount());
+        synchronized (analysisResult) {
+            languagesAnalyze.failedAnalysisFiles().forEach(analysisResult::addFailedAnalysisFile);
+            languagesAnalyze.languagePerFile().forEach(analysisResult::setLanguageForFile);
+        }
+    }
+}
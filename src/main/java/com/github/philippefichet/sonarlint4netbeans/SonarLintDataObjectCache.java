@@ -0,0 +1,93 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.openide.filesystems.FileObject;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+import org.openide.loaders.DataObjectNotFoundException;
+import org.openide.util.Exceptions;
+import org.openide.util.Utilities;
+
+/**
+ * DataObject of analyzed files by uri, shared by all issues of a file.
+ * DataObjects are weakly referenced to not be pinned by issues, files
+ * without DataObject are remembered to not be searched again.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintDataObjectCache {
+
+    private static final Reference<DataObject> NOT_FOUND = new WeakReference<>(null);
+    private static final ConcurrentHashMap<URI, Reference<DataObject>> DATA_OBJECTS = new ConcurrentHashMap<>();
+
+    private SonarLintDataObjectCache() {
+    }
+
+    /**
+     * Retrieve DataObject of a file
+     * @param uri uri of file
+     * @return DataObject of file or empty if file is not found
+     */
+    public static Optional<DataObject> find(URI uri) {
+        Reference<DataObject> reference = DATA_OBJECTS.get(uri);
+        if (reference == NOT_FOUND) {
+            return Optional.empty();
+        }
+        DataObject dataObject = reference == null ? null : reference.get();
+        if (dataObject == null || !dataObject.isValid()) {
+            dataObject = lookup(uri);
+            DATA_OBJECTS.put(uri, dataObject == null ? NOT_FOUND : new WeakReference<>(dataObject));
+        }
+        return Optional.ofNullable(dataObject);
+    }
+
+    /**
+     * Forget all files, to search them again after an analysis
+     */
+    public static void clear() {
+        DATA_OBJECTS.clear();
+    }
+
+    static int size() {
+        return DATA_OBJECTS.size();
+    }
+
+    private static DataObject lookup(URI uri) {
+        if (!"file".equals(uri.getScheme())) {
+            return null;
+        }
+        FileObject fileObject = FileUtil.toFileObject(Utilities.toFile(uri));
+        if (fileObject == null) {
+            return null;
+        }
+        try {
+            return DataObject.find(fileObject);
+        } catch (DataObjectNotFoundException ex) {
+            Exceptions.printStackTrace(ex);
+            return null;
+        }
+    }
+}
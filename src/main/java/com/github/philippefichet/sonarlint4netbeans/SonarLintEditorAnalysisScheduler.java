@@ -0,0 +1,218 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.openide.filesystems.FileObject;
+import org.openide.util.RequestProcessor;
+import org.sonarsource.sonarlint.core.client.api.common.ProgressMonitor;
+import org.sonarsource.sonarlint.core.client.api.exceptions.CanceledException;
+
+/**
+ * Schedule analyses of edited files out of parsing thread. Analyses of same
+ * file are coalesced: only last submitted text is analyzed, after a delay
+ * adapted to analysis duration of file, and a running analysis is canceled
+ * when a new text is submitted. Issues of a superseded text are never applied.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintEditorAnalysisScheduler {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintEditorAnalysisScheduler.class.getName());
+    private static final SonarLintEditorAnalysisScheduler DEFAULT = new SonarLintEditorAnalysisScheduler();
+    static final long MINIMUM_DELAY_MS = 200;
+    static final long MAXIMUM_DELAY_MS = 2000;
+    // Weight of last analysis duration in average duration
+    private static final double LATENCY_WEIGHT = 0.3;
+    private final RequestProcessor requestProcessor = new RequestProcessor(SonarLintEditorAnalysisScheduler.class.getName(), 1, true);
+    private final Map<FileObject, FileAnalysis> fileAnalyses = new ConcurrentHashMap<>();
+    private static final int MAXIMUM_AVERAGE_DURATIONS = 1024;
+    // Average analysis duration, forgotten with file
+    private final SonarLintWeakRegistry<FileObject, Double> averageDurationsMs = new SonarLintWeakRegistry<>(
+        MAXIMUM_AVERAGE_DURATIONS,
+        MAXIMUM_AVERAGE_DURATIONS,
+        averageDurationMs -> 1L,
+        averageDurationMs -> { }
+    );
+
+    private SonarLintEditorAnalysisScheduler() {
+    }
+
+    public static SonarLintEditorAnalysisScheduler getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Analyze text of file once no other text of this file is submitted during delay
+     * @param sonarLintEngine engine to use
+     * @param fileObject edited file
+     * @param text text of file to analyze
+     */
+    public void submit(SonarLintEngine sonarLintEngine, FileObject fileObject, CharSequence text) {
+        long delay = getDelay(fileObject);
+        fileAnalyses.compute(fileObject, (key, fileAnalysis) -> {
+            FileAnalysis submittedFileAnalysis = fileAnalysis == null ? new FileAnalysis(sonarLintEngine, key) : fileAnalysis;
+            submittedFileAnalysis.submit(text, delay);
+            return submittedFileAnalysis;
+        });
+    }
+
+    /**
+     * Cancel pending and running analysis of file
+     * @param fileObject edited file
+     */
+    public void cancel(FileObject fileObject) {
+        FileAnalysis fileAnalysis = fileAnalyses.get(fileObject);
+        if (fileAnalysis != null) {
+            fileAnalysis.cancel();
+        }
+    }
+
+    /**
+     * Retrieve delay between last submitted text and its analysis, longer for files slow to analyze
+     * @param fileObject edited file
+     * @return delay in milliseconds
+     */
+    long getDelay(FileObject fileObject) {
+        return averageDurationsMs.get(fileObject)
+            .map(averageDurationMs -> Math.max(MINIMUM_DELAY_MS, Math.min(MAXIMUM_DELAY_MS, averageDurationMs.longValue())))
+            .orElse(MINIMUM_DELAY_MS);
+    }
+
+    private void recordDuration(FileObject fileObject, long durationMs) {
+        // Durations are only recorded by the single thread of request processor
+        double averageDurationMs = averageDurationsMs.get(fileObject)
+            .map(average -> average + LATENCY_WEIGHT * (durationMs - average))
+            .orElse((double) durationMs);
+        averageDurationsMs.put(fileObject, averageDurationMs);
+    }
+
+    /**
+     * Last submitted text of a file and its analysis
+     */
+    private final class FileAnalysis implements Runnable {
+        private final SonarLintEngine sonarLintEngine;
+        private final FileObject fileObject;
+        private final RequestProcessor.Task task;
+        private CharSequence text;
+        private long generation;
+        private CancelableProgressMonitor runningMonitor;
+
+        private FileAnalysis(SonarLintEngine sonarLintEngine, FileObject fileObject) {
+            this.sonarLintEngine = sonarLintEngine;
+            this.fileObject = fileObject;
+            this.task = requestProcessor.create(this);
+        }
+
+        private synchronized void submit(CharSequence text, long delay) {
+            this.text = text;
+            generation++;
+            // Running analysis is superseded by submitted text
+            if (runningMonitor != null) {
+                runningMonitor.cancel();
+            }
+            task.schedule((int) delay);
+        }
+
+        private synchronized void cancel() {
+            generation++;
+            text = null;
+            task.cancel();
+            if (runningMonitor != null) {
+                runningMonitor.cancel();
+            }
+        }
+
+        private synchronized boolean isCurrent(long analyzedGeneration) {
+            return generation == analyzedGeneration;
+        }
+
+        private synchronized boolean isIdle() {
+            return text == null && runningMonitor == null;
+        }
+
+        @Override
+        public void run() {
+            // Submitted text is kept and analyzed once analyzers of file are loaded
+            CompletableFuture<Void> languagesLoaded = sonarLintEngine.requireLanguages(
+                sonarLintEngine.getLanguageRegistry().getLanguages(fileObject.getNameExt())
+            );
+            if (!languagesLoaded.isDone()) {
+                languagesLoaded.whenComplete((result, throwable) -> task.schedule(0));
+                return;
+            }
+            CharSequence analyzedText;
+            long analyzedGeneration;
+            CancelableProgressMonitor monitor = new CancelableProgressMonitor();
+            synchronized (this) {
+                if (text == null) {
+                    return;
+                }
+                analyzedText = text;
+                analyzedGeneration = generation;
+                text = null;
+                runningMonitor = monitor;
+            }
+            try {
+                // Only analyses run by engine are recorded, cached issues would pull delay down to its minimum
+                SonarLintAnnotationHandler.analyze(
+                    sonarLintEngine,
+                    fileObject,
+                    analyzedText,
+                    monitor,
+                    () -> !monitor.isCanceled() && isCurrent(analyzedGeneration),
+                    durationMs -> recordDuration(fileObject, durationMs)
+                );
+            } catch (CanceledException ex) {
+                LOG.log(Level.FINE, "Analysis of {0} superseded", fileObject.getPath());
+            } catch (IOException ex) {
+                LOG.log(Level.SEVERE, "Error while analyze " + fileObject.getPath(), ex);
+            } finally {
+                synchronized (this) {
+                    runningMonitor = null;
+                }
+                // Forget file without submitted text
+                fileAnalyses.computeIfPresent(fileObject, (key, fileAnalysis) -> fileAnalysis.isIdle() ? null : fileAnalysis);
+            }
+        }
+    }
+
+    /**
+     * Monitor canceling analysis in engine once superseded
+     */
+    private static final class CancelableProgressMonitor extends ProgressMonitor {
+        private final AtomicBoolean canceled = new AtomicBoolean(false);
+
+        private void cancel() {
+            canceled.set(true);
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled.get();
+        }
+    }
+}
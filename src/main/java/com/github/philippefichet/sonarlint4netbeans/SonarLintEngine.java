@@ -19,12 +19,16 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.prefs.Preferences;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
 import org.sonarsource.sonarlint.core.client.api.common.LogOutput;
 import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
 import org.sonarsource.sonarlint.core.client.api.common.ProgressMonitor;
@@ -43,7 +47,21 @@ import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetail
 public interface SonarLintEngine {
 
     /**
-     *
+     * Lane of engine pool used by an analysis
+     */
+    public enum AnalysisPriority {
+        /**
+         * Analysis of edited file, served by an engine reserved to it
+         */
+        INTERACTIVE,
+        /**
+         * Analysis of many files, shared by other engines of pool
+         */
+        BATCH
+    }
+
+    /**
+     * Analyze with interactive priority
      * @param configuration analysis configuration
      * @param issueListener listener of issues
      * @param logOutput batch logs to a custom output
@@ -53,10 +71,38 @@ public interface SonarLintEngine {
     public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, LogOutput logOutput, ProgressMonitor monitor);
 
     /**
-     * Block current Thread while engine is not ready
+     *
+     * @param configuration analysis configuration
+     * @param issueListener listener of issues
+     * @param logOutput batch logs to a custom output
+     * @param monitor monitor
+     * @param priority lane of engine pool to use
+     * @return result of analyze
+     */
+    public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, LogOutput logOutput, ProgressMonitor monitor, AnalysisPriority priority);
+
+    /**
+     * Block current Thread while engine is not ready, an engine being
+     * replaced by a new configuration is ready
+     * @throws IllegalStateException if engine initialization failed
      */
     public void waitingInitialization();
 
+    /**
+     * Block current Thread while engine is not ready or timeout expired, an
+     * engine being replaced by a new configuration is ready
+     * @param timeout maximum time to wait
+     * @param unit time unit of timeout
+     * @return true if engine is ready, false if timeout expired or initialization failed
+     */
+    public boolean waitingInitialization(long timeout, TimeUnit unit);
+
+    /**
+     * Retrieve time elapsed between start of engine initialization and engine ready
+     * @return time to ready or empty if engine is not ready
+     */
+    public Optional<Duration> getInitializationDuration();
+
     /**
      * Retrieve NodeJS path if customized
      * @return NodeJS path
@@ -76,6 +122,59 @@ public interface SonarLintEngine {
      */
     public void setNodeJSPathAndVersion(String nodeJSPath, Version nodeJSversion);
 
+    /**
+     * Check if analyzers are loaded only when a file of their language is analyzed
+     * @return true if analyzers are loaded on demand, false if all analyzers are loaded at startup
+     */
+    public boolean isLoadAnalyzersOnDemand();
+
+    /**
+     * Load analyzers only when a file of their language is analyzed
+     * @param loadAnalyzersOnDemand true to load analyzers on demand, false to load all analyzers at startup
+     */
+    public void setLoadAnalyzersOnDemand(boolean loadAnalyzersOnDemand);
+
+    /**
+     * Retrieve number of engines analyzing files concurrently, one by default:
+     * groups of files of batch analyses are then analyzed one at a time
+     * @return number of engines, at least one
+     */
+    public int getEnginePoolSize();
+
+    /**
+     * Retrieve maximum number of engines analyzing files concurrently
+     * @return maximum number of engines
+     */
+    public int getMaximumEnginePoolSize();
+
+    /**
+     * Change number of engines analyzing files concurrently. First engine is
+     * reserved to interactive analyses, others are shared by batch analyses
+     * @param enginePoolSize number of engines
+     */
+    public void setEnginePoolSize(int enginePoolSize);
+
+    /**
+     * Load analyzers of languages in background if analyzers are loaded on
+     * demand and not yet loaded, caller is never blocked
+     * @param languages languages of files to analyze
+     * @return future completed once engine serves analyzers of languages or
+     * once their loading failed, already completed if they are loaded
+     */
+    public CompletableFuture<Void> requireLanguages(Collection<Language> languages);
+
+    /**
+     * Retrieve keys of all bundled analyzers, loaded or not
+     * @return keys of all bundled analyzers
+     */
+    public Collection<String> getPluginKeys();
+
+    /**
+     * Retrieve languages of all bundled analyzers, loaded or not
+     * @return languages by file suffix and mime type
+     */
+    public SonarLintLanguageRegistry getLanguageRegistry();
+
     /**
      * Return rule details of all available rules.
      *
@@ -148,6 +247,15 @@ public interface SonarLintEngine {
      */
     public boolean isExcluded(RuleDetails ruleDetails);
 
+    /**
+     * Retrieve included rules, excluded rules and customized rule parameters
+     * of current configuration. Snapshot is computed once per configuration
+     * change, its version changes with configuration.
+     *
+     * @return rule activation of current configuration
+     */
+    public SonarLintRuleActivation getRuleActivation();
+
     /**
      * Call consumer when engine is initialized. If already initialized,
      * consumer is call immediatly
@@ -156,6 +264,23 @@ public interface SonarLintEngine {
      */
     public void whenInitialized(Consumer<SonarLintEngine> consumer);
 
+    /**
+     * Call consumer when rule details are available. If rule details are
+     * served from on-disk snapshot, consumer is call immediatly and once again
+     * when engine is initialized to reconcile with loaded analyzers
+     *
+     * @param consumer consumer to call when rule details are available.
+     */
+    public void whenRuleDetailsAvailable(Consumer<SonarLintEngine> consumer);
+
+    /**
+     * Call consumer when engine initialization failed. If already failed,
+     * consumer is call immediatly
+     *
+     * @param consumer consumer to call with cause of failure
+     */
+    public void whenInitializationFailed(Consumer<Throwable> consumer);
+
     /**
      * Call consumer when configuration on engine is changed.
      *
@@ -24,17 +24,37 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
 import org.openide.util.NbPreferences;
+import org.openide.util.RequestProcessor;
 import org.sonarsource.sonarlint.core.StandaloneSonarLintEngineImpl;
 import org.sonarsource.sonarlint.core.client.api.common.Language;
 import org.sonarsource.sonarlint.core.client.api.common.LogOutput;
@@ -58,64 +78,211 @@ import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
  */
 public final class SonarLintEngineImpl implements SonarLintEngine {
 
+    private static final Logger LOG = Logger.getLogger(SonarLintEngineImpl.class.getName());
+
     // https://search.maven.org/artifact/org.sonarsource.java/sonar-java-plugin/
     public static final String SONAR_JAVA_PLUGIN_VERSION = "6.15.0.25849";
     // https://search.maven.org/artifact/org.sonarsource.javascript/sonar-javascript-plugin/
     public static final String SONAR_JAVASCRIPT_PLUGIN_VERSION = "7.3.0.15071";
     // https://search.maven.org/artifact/org.sonarsource.php/sonar-php-plugin/
-    private static String SONAR_PHP_PLUGIN_VERSION = "3.17.0.7439";
+    public static final String SONAR_PHP_PLUGIN_VERSION = "3.17.0.7439";
     private static final String PREFIX_PREFERENCE_RULE_PARAMETER = "rules.parameters.";
     private static final String PREFIX_EXCLUDE_RULE = "excludedRules";
+    private static final String PREFIX_EXCLUDE_RULE_DEFAULT_APPLIED = "excludedRules.defaultAppliedPluginKeys";
     private static final String PREFIX_RUNTIME_PREFERENCE= "runtime.";
     private static final String RUNTIME_NODE_JS_PATH_PREFERENCE= "nodejs.path";
     private static final String RUNTIME_NODE_JS_VERSION_PREFERENCE= "nodejs.version";
+    private static final String RUNTIME_ANALYZERS_ON_DEMAND_PREFERENCE= "analyzers.onDemand";
+    private static final String RUNTIME_ENGINE_POOL_SIZE_PREFERENCE= "engine.poolSize";
     private final Gson gson = new Gson();
-    private StandaloneSonarLintEngineImpl standaloneSonarLintEngineImpl;
-    private final List<RuleKey> excludedRules = new ArrayList<>();
-    private final List<Consumer<SonarLintEngine>> consumerWaitingInitialization = new ArrayList<>();
+    // Batch engines of a pool are started concurrently, out of common pool shared by IDE
+    private final RequestProcessor engineStarter = new RequestProcessor(SonarLintEngineImpl.class.getName() + ".engineStarter", Runtime.getRuntime().availableProcessors());
+    private volatile CompletableFuture<EngineHandle> initialization = new CompletableFuture<>();
+    // Engine serving analyses, kept until a new engine is ready
+    private volatile EngineHandle currentEngine;
+    private volatile Duration initializationDuration;
+    private final Set<RuleKey> excludedRules = ConcurrentHashMap.newKeySet();
     private final List<Consumer<SonarLintEngine>> configurationChanged = new ArrayList<>();
-    private final Map<String, URL> pluginURLs = new HashMap<>();
+    private final Map<String, URL> pluginURLs = new LinkedHashMap<>();
+    private final SonarLintLanguageRegistry languageRegistry;
+    private final Set<String> loadedOnDemandPluginKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> defaultExcludedRulesPluginKeys = new HashSet<>();
+    private final SonarLintRuleDetailsCache ruleDetailsCache = new SonarLintRuleDetailsCache(
+        Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "rule-details-cache.json"),
+        SONAR_JAVA_PLUGIN_VERSION,
+        SONAR_JAVASCRIPT_PLUGIN_VERSION,
+        SONAR_PHP_PLUGIN_VERSION
+    );
+    // Rule details served from on-disk snapshot until engine has all analyzers, merged with rules of loaded analyzers
+    private volatile Map<String, StandaloneRuleDetails> cachedRuleDetails;
+    // Content of on-disk snapshot, null if no snapshot exists
+    private Map<String, StandaloneRuleDetails> snapshotRuleDetails;
+    private final AtomicLong ruleActivationVersion = new AtomicLong();
+    // Rule activation of current configuration, null until requested after a change
+    private volatile SonarLintRuleActivation ruleActivation;
 
     public SonarLintEngineImpl() throws MalformedURLException {
         pluginURLs.put("java", getClass().getResource("/com/github/philippefichet/sonarlint4netbeans/resources/sonar-java-plugin-" + SONAR_JAVA_PLUGIN_VERSION + ".jar"));
         pluginURLs.put("javascript", getClass().getResource("/com/github/philippefichet/sonarlint4netbeans/resources/sonar-javascript-plugin-" + SONAR_JAVASCRIPT_PLUGIN_VERSION + ".jar"));
         pluginURLs.put("php", getClass().getResource("/com/github/philippefichet/sonarlint4netbeans/resources/sonar-php-plugin-" + SONAR_PHP_PLUGIN_VERSION + ".jar"));
-        createInternalEngine();
+        languageRegistry = SonarLintLanguageRegistry.ofPluginKeys(pluginURLs.keySet());
+        ruleDetailsCache.load().ifPresent(ruleDetails -> {
+            Map<String, StandaloneRuleDetails> ruleDetailsByKey = new LinkedHashMap<>();
+            ruleDetails.forEach(ruleDetail -> ruleDetailsByKey.put(ruleDetail.getKey(), ruleDetail));
+            snapshotRuleDetails = ruleDetailsByKey;
+            cachedRuleDetails = ruleDetailsByKey;
+        });
         @SuppressWarnings("unchecked")
         List<Map<String, String>> fromJson = gson.fromJson(getPreferences().get(PREFIX_EXCLUDE_RULE, null), List.class);
-        if (fromJson == null) {
-            whenInitialized(engine -> {
-                Collection<StandaloneRuleDetails> allRuleDetails = engine.getAllRuleDetails();
-                for (StandaloneRuleDetails allRuleDetail : allRuleDetails) {
-                    if (!allRuleDetail.isActiveByDefault()) {
-                        excludedRules.add(RuleKey.parse(allRuleDetail.getKey()));
-                    }
-                }
-                getPreferences().put(PREFIX_EXCLUDE_RULE, gson.toJson(excludedRules));
-            });
-        } else {
+        if (fromJson != null) {
             for (Map<String, String> ruleKey : fromJson) {
                 excludedRules.add(RuleKey.parse(ruleKey.get("repository") + ":" + ruleKey.get("rule")));
             }
+            @SuppressWarnings("unchecked")
+            List<String> defaultAppliedPluginKeys = gson.fromJson(getPreferences().get(PREFIX_EXCLUDE_RULE_DEFAULT_APPLIED, null), List.class);
+            // Before on demand loading, default excluded rules were computed for all analyzers
+            defaultExcludedRulesPluginKeys.addAll(defaultAppliedPluginKeys == null ? pluginURLs.keySet() : defaultAppliedPluginKeys);
         }
+        createInternalEngine();
     }
 
-    private void createInternalEngine() {
-        standaloneSonarLintEngineImpl = null;
-        new Thread(() -> {
-            StandaloneGlobalConfiguration.Builder configBuilder = StandaloneGlobalConfiguration.builder()
-                .addEnabledLanguages(Language.values())
-                .addPlugins(pluginURLs.values().toArray(new URL[pluginURLs.values().size()]));
-            getNodeJSPath().ifPresent(nodeJSPath -> {
-                getNodeJSVersion().ifPresent(nodeJSVersion -> {
-                    Path nodeJS = Paths.get(nodeJSPath);
-                    configBuilder.setNodeJs(nodeJS, nodeJSVersion);
-                });
+    /**
+     * Exclude rules not active by default of analyzers loaded for the first time
+     * @param engine engine with loaded analyzers
+     * @param pluginKeys keys of loaded analyzers
+     */
+    private void applyDefaultExcludedRules(StandaloneSonarLintEngineImpl engine, Collection<String> pluginKeys) {
+        Set<String> newPluginKeys = new HashSet<>(pluginKeys);
+        newPluginKeys.removeAll(defaultExcludedRulesPluginKeys);
+        if (newPluginKeys.isEmpty()) {
+            return;
+        }
+        for (StandaloneRuleDetails ruleDetail : engine.getAllRuleDetails()) {
+            if (!ruleDetail.isActiveByDefault() && newPluginKeys.contains(ruleDetail.getLanguage().getPluginKey())) {
+                excludedRules.add(RuleKey.parse(ruleDetail.getKey()));
+            }
+        }
+        defaultExcludedRulesPluginKeys.addAll(newPluginKeys);
+        getPreferences().put(PREFIX_EXCLUDE_RULE, gson.toJson(excludedRules));
+        getPreferences().put(PREFIX_EXCLUDE_RULE_DEFAULT_APPLIED, gson.toJson(defaultExcludedRulesPluginKeys));
+    }
+
+    /**
+     * Write rule details of loaded analyzers in snapshot, rules of analyzers
+     * not loaded are kept in snapshot and still served from it
+     * @param engine engine of loaded analyzers
+     * @param pluginKeys keys of loaded analyzers
+     */
+    private synchronized void updateRuleDetailsSnapshot(StandaloneSonarLintEngineImpl engine, Collection<String> pluginKeys) {
+        Map<String, StandaloneRuleDetails> ruleDetails = new LinkedHashMap<>();
+        engine.getAllRuleDetails().forEach(ruleDetail -> ruleDetails.put(ruleDetail.getKey(), ruleDetail));
+        boolean allPlugins = pluginKeys.containsAll(pluginURLs.keySet());
+        if (!allPlugins && snapshotRuleDetails != null) {
+            snapshotRuleDetails.forEach((ruleKey, ruleDetail) -> {
+                if (!pluginKeys.contains(ruleDetail.getLanguage().getPluginKey())) {
+                    ruleDetails.putIfAbsent(ruleKey, ruleDetail);
+                }
+            });
+        }
+        // Rewritten only if loaded analyzers have rules missing in snapshot
+        if (!ruleDetails.isEmpty() && (snapshotRuleDetails == null || !snapshotRuleDetails.keySet().containsAll(ruleDetails.keySet()))) {
+            ruleDetailsCache.save(ruleDetails.values());
+            snapshotRuleDetails = ruleDetails;
+        }
+        cachedRuleDetails = allPlugins ? null : ruleDetails;
+    }
+
+    /**
+     * Build a new engine in background, current engine still serves analyses
+     * until new engine is ready
+     * @return future completed when new engine serves analyses
+     */
+    private synchronized CompletableFuture<EngineHandle> createInternalEngine() {
+        CompletableFuture<EngineHandle> previous = initialization;
+        CompletableFuture<EngineHandle> next = new CompletableFuture<>();
+        if (!previous.isDone()) {
+            // Waiters of a pending initialization are released by this one
+            next.whenComplete((engine, throwable) -> {
+                if (throwable == null) {
+                    previous.complete(engine);
+                } else {
+                    previous.completeExceptionally(throwable);
+                }
             });
-            standaloneSonarLintEngineImpl = new StandaloneSonarLintEngineImpl(configBuilder.build());
-            consumerWaitingInitialization.forEach(consumer -> consumer.accept(this));
-            consumerWaitingInitialization.clear();
-        }).start();
+        }
+        initializationDuration = null;
+        initialization = next;
+        List<String> pluginKeys = new ArrayList<>();
+        if (isLoadAnalyzersOnDemand()) {
+            pluginKeys.addAll(loadedOnDemandPluginKeys);
+        } else {
+            pluginKeys.addAll(pluginURLs.keySet());
+        }
+        int enginePoolSize = getEnginePoolSize();
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                List<URL> plugins = new ArrayList<>();
+                List<Language> languages = new ArrayList<>();
+                for (String pluginKey : pluginKeys) {
+                    plugins.add(pluginURLs.get(pluginKey));
+                    languages.addAll(Language.getLanguagesByPluginKey(pluginKey));
+                }
+                StandaloneGlobalConfiguration.Builder configBuilder = StandaloneGlobalConfiguration.builder()
+                    .addEnabledLanguages(languages.toArray(new Language[languages.size()]))
+                    .addPlugins(plugins.toArray(new URL[plugins.size()]));
+                getNodeJSPath().ifPresent(nodeJSPath -> {
+                    getNodeJSVersion().ifPresent(nodeJSVersion -> {
+                        Path nodeJS = Paths.get(nodeJSPath);
+                        configBuilder.setNodeJs(nodeJS, nodeJSVersion);
+                    });
+                });
+                StandaloneGlobalConfiguration globalConfiguration = configBuilder.build();
+                // Each engine of pool owns its analyzers, they are started concurrently
+                List<CompletableFuture<StandaloneSonarLintEngineImpl>> batchEngines = new ArrayList<>();
+                for (int i = 1; i < enginePoolSize; i++) {
+                    batchEngines.add(CompletableFuture.supplyAsync(() -> new StandaloneSonarLintEngineImpl(globalConfiguration), engineStarter));
+                }
+                StandaloneSonarLintEngineImpl engine = new StandaloneSonarLintEngineImpl(globalConfiguration);
+                List<StandaloneSonarLintEngineImpl> engines = new ArrayList<>();
+                engines.add(engine);
+                try {
+                    for (CompletableFuture<StandaloneSonarLintEngineImpl> batchEngine : batchEngines) {
+                        engines.add(batchEngine.join());
+                    }
+                } catch (CompletionException ex) {
+                    engines.forEach(StandaloneSonarLintEngineImpl::stop);
+                    throw ex;
+                }
+                EngineHandle engineHandle = new EngineHandle(engines, pluginKeys);
+                // A newer initialization replaced this one, its result is discarded
+                if (initialization != next) {
+                    engineHandle.retire();
+                    return;
+                }
+                applyDefaultExcludedRules(engine, pluginKeys);
+                updateRuleDetailsSnapshot(engine, pluginKeys);
+                initializationDuration = Duration.ofNanos(System.nanoTime() - start);
+                LOG.log(Level.INFO, "SonarLint engine ready in {0} ms with analyzers {1} and {2} engine(s)", new Object[] {initializationDuration.toMillis(), pluginKeys, engines.size()});
+                EngineHandle previousEngine = currentEngine;
+                currentEngine = engineHandle;
+                // Loaded analyzers may have changed available rules
+                invalidateRuleActivation();
+                next.complete(engineHandle);
+                // Previous engine is stopped when its last analysis ends
+                if (previousEngine != null) {
+                    previousEngine.retire();
+                }
+            } catch (RuntimeException | LinkageError ex) {
+                LOG.log(Level.SEVERE, "SonarLint engine initialization failed", ex);
+                if (initialization == next) {
+                    next.completeExceptionally(ex);
+                }
+            }
+        }, "SonarLint engine initialization");
+        thread.setDaemon(true);
+        thread.start();
+        return next;
     }
 
     @Override
@@ -138,6 +305,83 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
         createInternalEngine();
     }
 
+    @Override
+    public boolean isLoadAnalyzersOnDemand() {
+        return getPreferences().getBoolean(PREFIX_RUNTIME_PREFERENCE + RUNTIME_ANALYZERS_ON_DEMAND_PREFERENCE, false);
+    }
+
+    @Override
+    public void setLoadAnalyzersOnDemand(boolean loadAnalyzersOnDemand) {
+        if (loadAnalyzersOnDemand != isLoadAnalyzersOnDemand()) {
+            getPreferences().putBoolean(PREFIX_RUNTIME_PREFERENCE + RUNTIME_ANALYZERS_ON_DEMAND_PREFERENCE, loadAnalyzersOnDemand);
+            // Re-create SonarLint Engine
+            createInternalEngine();
+        }
+    }
+
+    @Override
+    public int getEnginePoolSize() {
+        int enginePoolSize = getPreferences().getInt(PREFIX_RUNTIME_PREFERENCE + RUNTIME_ENGINE_POOL_SIZE_PREFERENCE, 1);
+        return Math.max(1, Math.min(enginePoolSize, getMaximumEnginePoolSize()));
+    }
+
+    @Override
+    public int getMaximumEnginePoolSize() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void setEnginePoolSize(int enginePoolSize) {
+        if (enginePoolSize != getEnginePoolSize()) {
+            getPreferences().putInt(PREFIX_RUNTIME_PREFERENCE + RUNTIME_ENGINE_POOL_SIZE_PREFERENCE, enginePoolSize);
+            // Re-create SonarLint Engine
+            createInternalEngine();
+        }
+    }
+
+    @Override
+    public synchronized CompletableFuture<Void> requireLanguages(Collection<Language> languages) {
+        if (!isLoadAnalyzersOnDemand()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Set<String> requiredPluginKeys = new HashSet<>();
+        List<String> newPluginKeys = new ArrayList<>();
+        for (Language language : languages) {
+            String pluginKey = language.getPluginKey();
+            if (pluginURLs.containsKey(pluginKey)) {
+                requiredPluginKeys.add(pluginKey);
+                if (loadedOnDemandPluginKeys.add(pluginKey)) {
+                    LOG.log(Level.INFO, "Loading analyzer \"{0}\" on demand", pluginKey);
+                    newPluginKeys.add(pluginKey);
+                }
+            }
+        }
+        EngineHandle engineHandle = currentEngine;
+        if (engineHandle != null && engineHandle.pluginKeys.containsAll(requiredPluginKeys)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // Files of new languages require the new engine, built in background
+        CompletableFuture<EngineHandle> loading = newPluginKeys.isEmpty() ? initialization : createInternalEngine();
+        return loading.handle((engine, throwable) -> {
+            if (throwable != null) {
+                LOG.log(Level.WARNING, "Unable to load analyzers on demand", throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                // Loading is tried again by next request
+                loadedOnDemandPluginKeys.removeAll(newPluginKeys);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Collection<String> getPluginKeys() {
+        return Collections.unmodifiableSet(pluginURLs.keySet());
+    }
+
+    @Override
+    public SonarLintLanguageRegistry getLanguageRegistry() {
+        return languageRegistry;
+    }
+
     @Override
     public Collection<RuleKey> getExcludedRules() {
         return excludedRules;
@@ -159,57 +403,235 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
 
     @Override
     public boolean isExcluded(RuleDetails ruleDetails) {
-        for (RuleKey excludedRule : excludedRules) {
-            if (ruleDetails.getKey().equals(excludedRule.toString())) {
-                return true;
+        return excludedRules.contains(RuleKey.parse(ruleDetails.getKey()));
+    }
+
+    @Override
+    public SonarLintRuleActivation getRuleActivation() {
+        SonarLintRuleActivation activation = ruleActivation;
+        if (activation == null) {
+            long version = ruleActivationVersion.get();
+            List<RuleKey> includedRuleKeys = new ArrayList<>();
+            List<RuleKey> excludedRuleKeys = new ArrayList<>();
+            Map<Language, List<RuleKey>> includedRuleKeysByLanguage = new EnumMap<>(Language.class);
+            Map<Language, List<RuleKey>> excludedRuleKeysByLanguage = new EnumMap<>(Language.class);
+            Map<Language, Map<RuleKey, Map<String, String>>> ruleParametersByLanguage = new EnumMap<>(Language.class);
+            Collection<StandaloneRuleDetails> allRuleDetails = getAllRuleDetails();
+            Map<RuleKey, Map<String, String>> ruleParameters = computeRuleParameters(allRuleDetails);
+            for (StandaloneRuleDetails ruleDetails : allRuleDetails) {
+                RuleKey ruleKey = RuleKey.parse(ruleDetails.getKey());
+                Language language = ruleDetails.getLanguage();
+                if (excludedRules.contains(ruleKey)) {
+                    excludedRuleKeys.add(ruleKey);
+                    excludedRuleKeysByLanguage.computeIfAbsent(language, key -> new ArrayList<>()).add(ruleKey);
+                } else {
+                    includedRuleKeys.add(ruleKey);
+                    includedRuleKeysByLanguage.computeIfAbsent(language, key -> new ArrayList<>()).add(ruleKey);
+                }
+                Map<String, String> parameters = ruleParameters.get(ruleKey);
+                if (parameters != null) {
+                    ruleParametersByLanguage.computeIfAbsent(language, key -> new HashMap<>()).put(ruleKey, parameters);
+                }
+            }
+            Map<Language, SonarLintRuleActivation> ruleActivationByLanguage = new EnumMap<>(Language.class);
+            Set<Language> languages = EnumSet.noneOf(Language.class);
+            languages.addAll(includedRuleKeysByLanguage.keySet());
+            languages.addAll(excludedRuleKeysByLanguage.keySet());
+            for (Language language : languages) {
+                ruleActivationByLanguage.put(language, new SonarLintRuleActivation(
+                    version,
+                    includedRuleKeysByLanguage.getOrDefault(language, Collections.emptyList()),
+                    excludedRuleKeysByLanguage.getOrDefault(language, Collections.emptyList()),
+                    ruleParametersByLanguage.getOrDefault(language, Collections.emptyMap())
+                ));
+            }
+            activation = new SonarLintRuleActivation(version, includedRuleKeys, excludedRuleKeys, ruleParameters, ruleActivationByLanguage);
+            synchronized (ruleActivationVersion) {
+                // Not published if configuration changed while computing
+                if (ruleActivationVersion.get() == version) {
+                    ruleActivation = activation;
+                }
             }
         }
-        return false;
+        return activation;
+    }
+
+    private void invalidateRuleActivation() {
+        synchronized (ruleActivationVersion) {
+            ruleActivationVersion.incrementAndGet();
+            ruleActivation = null;
+        }
     }
 
     @Override
     public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, LogOutput logOutput, ProgressMonitor monitor) {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.analyze(configuration, issueListener, logOutput, monitor);
+        return analyze(configuration, issueListener, logOutput, monitor, AnalysisPriority.INTERACTIVE);
     }
 
     @Override
-    public void waitingInitialization() {
-        while (standaloneSonarLintEngineImpl == null) {
-            try {
-                Thread.sleep(100L);
-            } catch (InterruptedException ex) {
-                Logger.getLogger(SonarLintEngineImpl.class.getName()).log(Level.SEVERE, null, ex);
+    public AnalysisResults analyze(StandaloneAnalysisConfiguration configuration, IssueListener issueListener, LogOutput logOutput, ProgressMonitor monitor, AnalysisPriority priority) {
+        return withInternalEngine(priority, engine -> engine.analyze(configuration, issueListener, logOutput, monitor));
+    }
+
+    /**
+     * Call function with engine of interactive lane
+     * @param <T> type of result
+     * @param function function to call with engine
+     * @return result of function
+     * @throws IllegalStateException if engine initialization failed
+     */
+    private <T> T withInternalEngine(Function<StandaloneSonarLintEngineImpl, T> function) {
+        return withInternalEngine(AnalysisPriority.INTERACTIVE, function);
+    }
+
+    /**
+     * Call function with engine serving analyses, engine is not stopped while function running
+     * @param <T> type of result
+     * @param priority lane of engine pool to use
+     * @param function function to call with engine
+     * @return result of function
+     * @throws IllegalStateException if engine initialization failed
+     */
+    private <T> T withInternalEngine(AnalysisPriority priority, Function<StandaloneSonarLintEngineImpl, T> function) {
+        while (true) {
+            EngineHandle engineHandle = currentEngine;
+            if (engineHandle == null) {
+                engineHandle = awaitInitialization();
+            }
+            if (engineHandle.acquire()) {
+                try {
+                    if (priority == AnalysisPriority.INTERACTIVE || engineHandle.batchEngines.isEmpty()) {
+                        return function.apply(engineHandle.interactiveEngine);
+                    }
+                    StandaloneSonarLintEngineImpl engine = engineHandle.takeBatchEngine();
+                    try {
+                        return function.apply(engine);
+                    } finally {
+                        engineHandle.batchEngines.add(engine);
+                    }
+                } finally {
+                    engineHandle.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Block current Thread while last requested engine is not ready
+     * @return last requested engine
+     * @throws IllegalStateException if engine initialization failed
+     */
+    private EngineHandle awaitInitialization() {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return initialization.get();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException("SonarLint engine initialization failed", ex.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
                 Thread.currentThread().interrupt();
             }
         }
     }
 
+    @Override
+    public void waitingInitialization() {
+        // An engine replaced by a newer one still serves analyses
+        if (currentEngine == null) {
+            awaitInitialization();
+        }
+    }
+
+    /**
+     * Block current Thread while engine of last requested configuration is not ready
+     * @throws IllegalStateException if engine initialization failed
+     */
+    public void waitingReconfiguration() {
+        awaitInitialization();
+    }
+
+    @Override
+    public boolean waitingInitialization(long timeout, TimeUnit unit) {
+        if (currentEngine != null) {
+            return true;
+        }
+        try {
+            initialization.get(timeout, unit);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ex) {
+            LOG.log(Level.FINE, "SonarLint engine not ready", ex);
+        }
+        return false;
+    }
+
+    @Override
+    public Optional<Duration> getInitializationDuration() {
+        return Optional.ofNullable(initializationDuration);
+    }
+
     @Override
     public void whenInitialized(Consumer<SonarLintEngine> consumer) {
-        if (standaloneSonarLintEngineImpl != null) {
+        if (currentEngine != null) {
+            notifyInitialized(consumer);
+            return;
+        }
+        initialization.thenAccept(engine -> notifyInitialized(consumer));
+    }
+
+    private void notifyInitialized(Consumer<SonarLintEngine> consumer) {
+        try {
+            consumer.accept(this);
+        } catch (RuntimeException ex) {
+            LOG.log(Level.SEVERE, "Error while notify SonarLint engine initialization", ex);
+        }
+    }
+
+    @Override
+    public void whenInitializationFailed(Consumer<Throwable> consumer) {
+        initialization.exceptionally(throwable -> {
+            consumer.accept(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            return null;
+        });
+    }
+
+    @Override
+    public void whenRuleDetailsAvailable(Consumer<SonarLintEngine> consumer) {
+        if (cachedRuleDetails != null && currentEngine == null) {
             consumer.accept(this);
-        } else {
-            consumerWaitingInitialization.add(consumer);
         }
+        whenInitialized(consumer);
     }
 
     @Override
     public Collection<StandaloneRuleDetails> getAllRuleDetails() {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getAllRuleDetails();
+        Map<String, StandaloneRuleDetails> ruleDetails = cachedRuleDetails;
+        // Also rules of analyzers not loaded on demand yet
+        if (ruleDetails != null) {
+            return ruleDetails.values();
+        }
+        return withInternalEngine(StandaloneSonarLintEngineImpl::getAllRuleDetails);
     }
 
     @Override
     public Collection<PluginDetails> getPluginDetails() {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getPluginDetails();
+        return withInternalEngine(StandaloneSonarLintEngineImpl::getPluginDetails);
     }
 
     @Override
     public Optional<StandaloneRuleDetails> getRuleDetails(String ruleKey) {
-        waitingInitialization();
-        return standaloneSonarLintEngineImpl.getRuleDetails(ruleKey);
+        Map<String, StandaloneRuleDetails> ruleDetails = cachedRuleDetails;
+        if (ruleDetails != null) {
+            return Optional.ofNullable(ruleDetails.get(ruleKey));
+        }
+        return withInternalEngine(engine -> engine.getRuleDetails(ruleKey));
     }
 
     @Override
@@ -223,6 +645,7 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
     }
 
     private void fireConfigurationChange() {
+        invalidateRuleActivation();
         configurationChanged.forEach(consumer -> consumer.accept(this));
     }
 
@@ -248,9 +671,14 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
 
     @Override
     public Map<RuleKey, Map<String, String>> getRuleParameters()
+    {
+        return getRuleActivation().getRuleParameters();
+    }
+
+    private Map<RuleKey, Map<String, String>> computeRuleParameters(Collection<StandaloneRuleDetails> allRuleDetails)
     {
         Map<RuleKey, Map<String, String>> ruleParameters = new HashMap<>();
-        for (StandaloneRuleDetails standaloneRule : getAllRuleDetails()) {
+        for (StandaloneRuleDetails standaloneRule : allRuleDetails) {
             String ruleKey = standaloneRule.getKey();
             for (StandaloneRuleParam param : standaloneRule.paramDetails()) {
                 if (param instanceof StandaloneRuleParam) {
@@ -268,6 +696,7 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
                 }
             }
         }
+        ruleParameters.replaceAll((key, params) -> Collections.unmodifiableMap(params));
         return ruleParameters;
     }
 
@@ -291,4 +720,78 @@ public final class SonarLintEngineImpl implements SonarLintEngine {
                 })
         );
     }
+
+    /**
+     * Pool of engines with count of running calls, stopped when retired and no more used.
+     * First engine is reserved to interactive analyses, others are shared by batch analyses.
+     */
+    private static final class EngineHandle {
+        private final List<StandaloneSonarLintEngineImpl> engines;
+        private final Set<String> pluginKeys;
+        private final StandaloneSonarLintEngineImpl interactiveEngine;
+        private final BlockingQueue<StandaloneSonarLintEngineImpl> batchEngines;
+        private final AtomicInteger users = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean(false);
+        private volatile boolean retired = false;
+
+        private EngineHandle(List<StandaloneSonarLintEngineImpl> engines, Collection<String> pluginKeys) {
+            this.engines = engines;
+            this.pluginKeys = new HashSet<>(pluginKeys);
+            this.interactiveEngine = engines.get(0);
+            this.batchEngines = new LinkedBlockingQueue<>(engines.subList(1, engines.size()));
+        }
+
+        /**
+         * Block current Thread while all batch engines are used
+         * @return free batch engine
+         */
+        private StandaloneSonarLintEngineImpl takeBatchEngine() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return batchEngines.take();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Register a call on engine
+         * @return false if engine is retired and must not be used
+         */
+        private boolean acquire() {
+            users.incrementAndGet();
+            if (retired) {
+                release();
+                return false;
+            }
+            return true;
+        }
+
+        private void release() {
+            if (users.decrementAndGet() == 0 && retired) {
+                stop();
+            }
+        }
+
+        private void retire() {
+            retired = true;
+            if (users.get() == 0) {
+                stop();
+            }
+        }
+
+        private void stop() {
+            if (stopped.compareAndSet(false, true)) {
+                engines.forEach(StandaloneSonarLintEngineImpl::stop);
+            }
+        }
+    }
 }
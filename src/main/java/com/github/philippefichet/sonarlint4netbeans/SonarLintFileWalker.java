@@ -0,0 +1,287 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Walk files to analyze: version control directories and build output
+ * directories of projects are skipped, ".gitignore" files and user exclusions
+ * are honored and files are selected by name before any read. Selected files
+ * are given to consumer during walk.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintFileWalker {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintFileWalker.class.getName());
+    // Skipped at any depth, a "CVS" directory only if it holds CVS metadata
+    public static final Set<String> VERSION_CONTROL_DIRECTORIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        ".git", ".svn", ".hg", ".bzr", "CVS", "_darcs"
+    )));
+    // Skipped only directly under walked root or under a directory holding a project file
+    public static final Set<String> DEFAULT_EXCLUDED_DIRECTORIES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+        "target", "build", "node_modules", "bower_components", ".gradle", ".idea"
+    )));
+    private static final List<String> PROJECT_FILES = Collections.unmodifiableList(Arrays.asList(
+        "pom.xml", "build.gradle", "build.gradle.kts", "settings.gradle", "build.xml", "package.json", "nbproject"
+    ));
+    private static final String IGNORE_FILE_NAME = ".gitignore";
+    private final Predicate<String> fileNameFilter;
+    private final List<String> exclusions;
+
+    /**
+     * @param fileNameFilter true for name of files to analyze
+     * @param exclusions ".gitignore" like patterns of files to exclude, relative to walked root
+     */
+    public SonarLintFileWalker(Predicate<String> fileNameFilter, Collection<String> exclusions) {
+        this.fileNameFilter = fileNameFilter;
+        this.exclusions = new ArrayList<>(exclusions);
+    }
+
+    /**
+     * Walk a file or a directory
+     * @param root file or directory to walk, always walked even if excluded
+     * @param consumer receive files to analyze during walk
+     * @param canceled true to stop walk
+     * @throws IOException if root cannot be walked
+     */
+    public void walk(Path root, Consumer<Path> consumer, BooleanSupplier canceled) throws IOException {
+        Deque<List<IgnoreRule>> ignoreRules = new ArrayDeque<>();
+        pushAncestorIgnoreRules(ignoreRules, root.getParent());
+        ignoreRules.push(IgnoreRule.parse(root, exclusions));
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (canceled.getAsBoolean()) {
+                    return FileVisitResult.TERMINATE;
+                }
+                if (!dir.equals(root)
+                    && (isExcludedDirectory(root, dir) || isIgnored(ignoreRules, dir, true))) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                ignoreRules.push(readIgnoreRules(dir));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (canceled.getAsBoolean()) {
+                    return FileVisitResult.TERMINATE;
+                }
+                // File name is checked first, it needs no I/O
+                if (attrs.isRegularFile()
+                    && fileNameFilter.test(file.getFileName().toString())
+                    && (file.equals(root) || !isIgnored(ignoreRules, file, false))) {
+                    consumer.accept(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                ignoreRules.pop();
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static boolean isExcludedDirectory(Path root, Path dir) {
+        String name = dir.getFileName().toString();
+        if (VERSION_CONTROL_DIRECTORIES.contains(name)) {
+            return !"CVS".equals(name) || Files.isRegularFile(dir.resolve("Entries"));
+        }
+        if (!DEFAULT_EXCLUDED_DIRECTORIES.contains(name)) {
+            return false;
+        }
+        // A package or a source directory may have same name than a build output directory
+        Path parent = dir.getParent();
+        return parent.equals(root) || PROJECT_FILES.stream().anyMatch(projectFile -> Files.exists(parent.resolve(projectFile)));
+    }
+
+    /**
+     * Ignore rules of directories between repository root and walked root apply too
+     */
+    private static void pushAncestorIgnoreRules(Deque<List<IgnoreRule>> ignoreRules, Path dir) {
+        Deque<Path> ancestors = new ArrayDeque<>();
+        for (Path ancestor = dir; ancestor != null; ancestor = ancestor.getParent()) {
+            ancestors.push(ancestor);
+            if (Files.isDirectory(ancestor.resolve(".git"))) {
+                // Repository root first
+                for (Path repositoryDirectory : ancestors) {
+                    ignoreRules.push(readIgnoreRules(repositoryDirectory));
+                }
+                return;
+            }
+        }
+    }
+
+    private static List<IgnoreRule> readIgnoreRules(Path dir) {
+        Path ignoreFile = dir.resolve(IGNORE_FILE_NAME);
+        if (!Files.isRegularFile(ignoreFile)) {
+            return Collections.emptyList();
+        }
+        try {
+            return IgnoreRule.parse(dir, Files.readAllLines(ignoreFile, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            LOG.fine("Cannot read \"" + ignoreFile + "\": " + ex.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Last matching rule wins, rules of nearest directories are applied last
+     */
+    private static boolean isIgnored(Deque<List<IgnoreRule>> ignoreRules, Path path, boolean directory) {
+        boolean ignored = false;
+        for (Iterator<List<IgnoreRule>> iterator = ignoreRules.descendingIterator(); iterator.hasNext();) {
+            for (IgnoreRule ignoreRule : iterator.next()) {
+                if (ignoreRule.matches(path, directory)) {
+                    ignored = !ignoreRule.negated;
+                }
+            }
+        }
+        return ignored;
+    }
+
+    /**
+     * Pattern of a ".gitignore" file
+     */
+    static final class IgnoreRule {
+        private final Path base;
+        private final Pattern pattern;
+        private final boolean negated;
+        private final boolean directoryOnly;
+
+        private IgnoreRule(Path base, Pattern pattern, boolean negated, boolean directoryOnly) {
+            this.base = base;
+            this.pattern = pattern;
+            this.negated = negated;
+            this.directoryOnly = directoryOnly;
+        }
+
+        /**
+         * Parse patterns, blank lines and comments are ignored
+         * @param base directory of patterns
+         * @param lines patterns
+         * @return rules of patterns
+         */
+        static List<IgnoreRule> parse(Path base, Collection<String> lines) {
+            List<IgnoreRule> ignoreRules = new ArrayList<>();
+            for (String line : lines) {
+                String rule = line.trim();
+                if (rule.isEmpty() || rule.startsWith("#")) {
+                    continue;
+                }
+                boolean negated = rule.startsWith("!");
+                if (negated) {
+                    rule = rule.substring(1);
+                } else if (rule.startsWith("\\")) {
+                    rule = rule.substring(1);
+                }
+                boolean directoryOnly = rule.endsWith("/");
+                while (rule.endsWith("/")) {
+                    rule = rule.substring(0, rule.length() - 1);
+                }
+                if (rule.isEmpty()) {
+                    continue;
+                }
+                // A pattern with a slash is relative to its directory, otherwise it matches a name at any depth
+                boolean anchored = rule.indexOf('/') >= 0;
+                if (rule.startsWith("/")) {
+                    rule = rule.substring(1);
+                }
+                String regex = (anchored ? "" : "(?:.*/)?") + toRegex(rule);
+                ignoreRules.add(new IgnoreRule(base, Pattern.compile(regex), negated, directoryOnly));
+            }
+            return ignoreRules;
+        }
+
+        boolean matches(Path path, boolean directory) {
+            if (directoryOnly && !directory) {
+                return false;
+            }
+            if (!path.startsWith(base)) {
+                return false;
+            }
+            String relativePath = base.relativize(path).toString().replace('\\', '/');
+            return pattern.matcher(relativePath).matches();
+        }
+
+        private static String toRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+            int i = 0;
+            while (i < glob.length()) {
+                char c = glob.charAt(i);
+                if (glob.startsWith("**/", i)) {
+                    regex.append("(?:.*/)?");
+                    i += 3;
+                } else if (glob.startsWith("**", i)) {
+                    regex.append(".*");
+                    i += 2;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                    i++;
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                    i++;
+                } else if (c == '[' && glob.indexOf(']', i + 1) > i + 1) {
+                    int end = glob.indexOf(']', i + 1);
+                    String characters = glob.substring(i + 1, end);
+                    if (characters.startsWith("!")) {
+                        characters = "^" + characters.substring(1);
+                    }
+                    regex.append('[').append(characters.replace("\\", "\\\\")).append(']');
+                    i = end + 1;
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                    i++;
+                }
+            }
+            return regex.toString();
+        }
+    }
+}
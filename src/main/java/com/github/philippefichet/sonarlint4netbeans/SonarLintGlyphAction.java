@@ -77,14 +77,23 @@ public class SonarLintGlyphAction extends AbstractAction
             
             doc.render(() -> {
                 try {
-                    int line = LineDocumentUtils.getLineIndex((BaseDocument)doc, currentPosition);
+                    // Line offsets of annotated text while document is unchanged
+                    Optional<SonarLintLineOffsets> lineOffsets = SonarLintAnnotationHandler.getLineOffsets(od.getPrimaryFile());
+                    int line = lineOffsets.isPresent()
+                        ? lineOffsets.get().getLine(currentPosition) - 1
+                        : LineDocumentUtils.getLineIndex((BaseDocument)doc, currentPosition);
                     AnnotationDesc desc = annotations.getActiveAnnotation(line);
-                    Optional<SonarLintAnnotation> sonarLintAnnotation = SonarLintAnnotationHandler.getSonarLintAnnotation(
-                        od.getPrimaryFile(),
-                        desc.getOffset(),
-                        desc.getLength(),
-                        desc.getShortDescription()
-                    );
+                    SonarLintAnnotationIndex annotationIndex = SonarLintAnnotationHandler.getSonarLintAnnotationIndex(od.getPrimaryFile());
+                    Optional<SonarLintAnnotation> sonarLintAnnotation = desc == null
+                        ? Optional.empty()
+                        : annotationIndex.find(desc.getOffset(), desc.getLength(), desc.getShortDescription());
+                    if (!sonarLintAnnotation.isPresent() && lineOffsets.isPresent()) {
+                        // First annotation of caret line
+                        sonarLintAnnotation = annotationIndex.getAnnotationsStartingIn(
+                            lineOffsets.get().getLineStartOffset(line + 1),
+                            line + 1 < lineOffsets.get().getLineCount() ? lineOffsets.get().getLineStartOffset(line + 2) : Long.MAX_VALUE
+                        ).stream().findFirst();
+                    }
                     sonarLintAnnotation.ifPresent(sla -> {
                         TopComponent topComponent = WindowManager.getDefault().findTopComponent("SonarRuleDetailsTopComponent");
                         if (topComponent instanceof SonarRuleDetailsTopComponent) {
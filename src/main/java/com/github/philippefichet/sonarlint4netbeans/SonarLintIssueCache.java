@@ -0,0 +1,225 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Least recently used issues of analyzed contents, bounded by number of
+ * entries and estimated size in bytes
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintIssueCache {
+
+    private static final SonarLintIssueCache DEFAULT = new SonarLintIssueCache(256, 32L * 1024 * 1024);
+    // Estimated retained size of an issue without its input file
+    private static final long ISSUE_ESTIMATED_BYTES = 512;
+    private static final int HASH_BUFFER_SIZE = 4096;
+    private final int maximumEntries;
+    private final long maximumBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes = 0;
+
+    SonarLintIssueCache(int maximumEntries, long maximumBytes) {
+        this.maximumEntries = maximumEntries;
+        this.maximumBytes = maximumBytes;
+    }
+
+    public static SonarLintIssueCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Create key of an analysis
+     * @param file absolute path of analyzed file
+     * @param content analyzed content
+     * @param ruleActivationVersion version of rule activation used by analysis
+     * @param test true if test rules are applied
+     * @return key of analysis
+     */
+    public static Key key(String file, CharSequence content, long ruleActivationVersion, boolean test) {
+        MessageDigest digest = newDigest();
+        char[] chars = new char[HASH_BUFFER_SIZE];
+        byte[] bytes = new byte[HASH_BUFFER_SIZE * 2];
+        for (int start = 0; start < content.length(); start += HASH_BUFFER_SIZE) {
+            int end = Math.min(content.length(), start + HASH_BUFFER_SIZE);
+            for (int i = start; i < end; i++) {
+                chars[i - start] = content.charAt(i);
+            }
+            update(digest, chars, end - start, bytes);
+        }
+        return new Key(file, digest.digest(), ruleActivationVersion, test);
+    }
+
+    /**
+     * Create key of an analysis of a file read from disk, same key than its decoded content
+     * @param file absolute path of analyzed file
+     * @param encoding encoding of file
+     * @param ruleActivationVersion version of rule activation used by analysis
+     * @param test true if test rules are applied
+     * @return key of analysis
+     * @throws IOException if file cannot be read
+     */
+    public static Key key(Path file, Charset encoding, long ruleActivationVersion, boolean test) throws IOException {
+        MessageDigest digest = newDigest();
+        char[] chars = new char[HASH_BUFFER_SIZE];
+        byte[] bytes = new byte[HASH_BUFFER_SIZE * 2];
+        try (Reader reader = Files.newBufferedReader(file, encoding)) {
+            int read;
+            while ((read = reader.read(chars)) != -1) {
+                update(digest, chars, read, bytes);
+            }
+        }
+        return new Key(file.toString(), digest.digest(), ruleActivationVersion, test);
+    }
+
+    /**
+     * Retrieve issues of a previous analysis
+     * @param key key of analysis
+     * @return issues of previous analysis or empty if unknown or evicted
+     */
+    public synchronized Optional<List<Issue>> get(Key key) {
+        Entry entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(entry.issues);
+    }
+
+    /**
+     * Keep issues of an analysis, least recently used analyses are evicted
+     * @param key key of analysis
+     * @param issues issues found by analysis
+     * @param contentLength length of analyzed content, retained by input file of issues
+     */
+    public synchronized void put(Key key, List<Issue> issues, long contentLength) {
+        Entry entry = new Entry(
+            Collections.unmodifiableList(new ArrayList<>(issues)),
+            (issues.isEmpty() ? 0 : 2L * contentLength) + issues.size() * ISSUE_ESTIMATED_BYTES
+        );
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.bytes;
+        }
+        bytes += entry.bytes;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maximumEntries || bytes > maximumBytes) && iterator.hasNext()) {
+            bytes -= iterator.next().bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Forget all analyses
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getEstimatedBytes() {
+        return bytes;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Hash UTF-16 chars, content is hashed by chunks without copy of whole content
+     */
+    private static void update(MessageDigest digest, char[] chars, int length, byte[] bytes) {
+        for (int i = 0; i < length; i++) {
+            bytes[2 * i] = (byte) (chars[i] >> 8);
+            bytes[2 * i + 1] = (byte) chars[i];
+        }
+        digest.update(bytes, 0, 2 * length);
+    }
+
+    /**
+     * Analyzed file, hash of analyzed content, rules and test flag used by analysis
+     */
+    public static final class Key {
+        private final String file;
+        private final byte[] contentHash;
+        private final long ruleActivationVersion;
+        private final boolean test;
+        private final int hashCode;
+
+        private Key(String file, byte[] contentHash, long ruleActivationVersion, boolean test) {
+            this.file = file;
+            this.contentHash = contentHash;
+            this.ruleActivationVersion = ruleActivationVersion;
+            this.test = test;
+            this.hashCode = Objects.hash(file, Arrays.hashCode(contentHash), ruleActivationVersion, test);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return ruleActivationVersion == other.ruleActivationVersion
+                && test == other.test
+                && file.equals(other.file)
+                && Arrays.equals(contentHash, other.contentHash);
+        }
+    }
+
+    private static final class Entry {
+        private final List<Issue> issues;
+        private final long bytes;
+
+        private Entry(List<Issue> issues, long bytes) {
+            this.issues = issues;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Columnar storage of issues of an analysis: an issue is an identifier
+ * indexing int columns, texts are interned in dictionaries and files in a
+ * table, to keep many issues without keeping issues of analyzers.
+ *
+ * Issues are added by a single thread, already added issues can be read
+ * by any thread.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintIssueStore {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int NO_VALUE = Integer.MIN_VALUE;
+    private static final int NO_FILE = -1;
+
+    private final Dictionary texts = new Dictionary();
+    private final Map<URI, Integer> fileIds = new HashMap<>();
+    private StoredFile[] files = new StoredFile[16];
+    private int fileCount = 0;
+    private int[] ruleKeys = new int[INITIAL_CAPACITY];
+    private int[] ruleNames = new int[INITIAL_CAPACITY];
+    private int[] severities = new int[INITIAL_CAPACITY];
+    private int[] types = new int[INITIAL_CAPACITY];
+    private int[] messages = new int[INITIAL_CAPACITY];
+    private int[] fileIdByIssue = new int[INITIAL_CAPACITY];
+    private int[] textRanges = new int[INITIAL_CAPACITY * 4];
+    private volatile int size = 0;
+
+    /**
+     * Store an issue
+     * @param issue issue to store
+     * @return identifier of issue in store
+     */
+    public int add(Issue issue) {
+        int id = size;
+        if (id == ruleKeys.length) {
+            grow(id * 2);
+        }
+        ruleKeys[id] = texts.intern(issue.getRuleKey());
+        ruleNames[id] = texts.intern(issue.getRuleName());
+        severities[id] = texts.intern(issue.getSeverity());
+        types[id] = texts.intern(issue.getType());
+        messages[id] = texts.intern(issue.getMessage());
+        fileIdByIssue[id] = toFileId(issue.getInputFile());
+        textRanges[id * 4] = toInt(issue.getStartLine());
+        textRanges[id * 4 + 1] = toInt(issue.getStartLineOffset());
+        textRanges[id * 4 + 2] = toInt(issue.getEndLine());
+        textRanges[id * 4 + 3] = toInt(issue.getEndLineOffset());
+        // Publish issue to readers once all columns are written
+        size = id + 1;
+        return id;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of distinct texts among rule keys, rule names, severities, types and messages
+     * @return number of distinct texts
+     */
+    public int getTextCount() {
+        return texts.size();
+    }
+
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    public String getRuleKey(int id) {
+        return texts.get(ruleKeys[id]);
+    }
+
+    public String getRuleName(int id) {
+        return texts.get(ruleNames[id]);
+    }
+
+    public String getSeverity(int id) {
+        return texts.get(severities[id]);
+    }
+
+    public String getType(int id) {
+        return texts.get(types[id]);
+    }
+
+    public String getMessage(int id) {
+        return texts.get(messages[id]);
+    }
+
+    public Integer getStartLine(int id) {
+        return toInteger(textRanges[id * 4]);
+    }
+
+    public Integer getStartLineOffset(int id) {
+        return toInteger(textRanges[id * 4 + 1]);
+    }
+
+    public Integer getEndLine(int id) {
+        return toInteger(textRanges[id * 4 + 2]);
+    }
+
+    public Integer getEndLineOffset(int id) {
+        return toInteger(textRanges[id * 4 + 3]);
+    }
+
+    /**
+     * Retrieve uri of file of an issue
+     * @param id identifier of issue
+     * @return uri of file or null if issue is not on a file
+     */
+    public URI getURI(int id) {
+        int fileId = fileIdByIssue[id];
+        return fileId == NO_FILE ? null : files[fileId].uri;
+    }
+
+    /**
+     * Retrieve relative path of file of an issue
+     * @param id identifier of issue
+     * @return relative path of file or null if issue is not on a file
+     */
+    public String getRelativePath(int id) {
+        int fileId = fileIdByIssue[id];
+        return fileId == NO_FILE ? null : files[fileId].relativePath;
+    }
+
+    /**
+     * Compare issues by name of file, line and column.
+     * Issues without file are sorted last, issues without line first in their file
+     * @param id1 identifier of first issue
+     * @param id2 identifier of second issue
+     * @return negative, zero or positive if first issue is before, at same location or after second issue
+     */
+    public int compare(int id1, int id2) {
+        int fileId1 = fileIdByIssue[id1];
+        int fileId2 = fileIdByIssue[id2];
+        if (fileId1 != fileId2) {
+            if (fileId1 == NO_FILE) {
+                return 1;
+            } else if (fileId2 == NO_FILE) {
+                return -1;
+            }
+            int compare = files[fileId1].fileName.compareTo(files[fileId2].fileName);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        int compareLine = Integer.compare(textRanges[id1 * 4], textRanges[id2 * 4]);
+        if (compareLine != 0) {
+            return compareLine;
+        }
+        return Integer.compare(textRanges[id1 * 4 + 1], textRanges[id2 * 4 + 1]);
+    }
+
+    private int toFileId(ClientInputFile inputFile) {
+        if (inputFile == null) {
+            return NO_FILE;
+        }
+        URI uri = inputFile.uri();
+        Integer fileId = fileIds.get(uri);
+        if (fileId == null) {
+            fileId = fileCount++;
+            if (fileId == files.length) {
+                files = Arrays.copyOf(files, fileId * 2);
+            }
+            // Readers find file through an issue only published after
+            files[fileId] = new StoredFile(uri, inputFile.relativePath());
+            fileIds.put(uri, fileId);
+        }
+        return fileId;
+    }
+
+    private void grow(int capacity) {
+        ruleKeys = Arrays.copyOf(ruleKeys, capacity);
+        ruleNames = Arrays.copyOf(ruleNames, capacity);
+        severities = Arrays.copyOf(severities, capacity);
+        types = Arrays.copyOf(types, capacity);
+        messages = Arrays.copyOf(messages, capacity);
+        fileIdByIssue = Arrays.copyOf(fileIdByIssue, capacity);
+        textRanges = Arrays.copyOf(textRanges, capacity * 4);
+    }
+
+    private static int toInt(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    private static Integer toInteger(int value) {
+        return value == NO_VALUE ? null : value;
+    }
+
+    private static final class StoredFile {
+        private final URI uri;
+        private final String relativePath;
+        private final String fileName;
+
+        StoredFile(URI uri, String relativePath) {
+            this.uri = uri;
+            this.relativePath = relativePath;
+            String path = uri.getPath();
+            this.fileName = path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+        }
+    }
+
+    /**
+     * Texts by identifier, null text has identifier -1
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] values = new String[64];
+        private int size = 0;
+
+        int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = size++;
+                if (id == values.length) {
+                    values = Arrays.copyOf(values, id * 2);
+                }
+                values[id] = value;
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        String get(int id) {
+            return id < 0 ? null : values[id];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+
+/**
+ * Languages of analyzers by file suffix and by editor mime type
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintLanguageRegistry {
+
+    private static final Map<Language, List<String>> MIME_TYPES = new EnumMap<>(Language.class);
+    static {
+        MIME_TYPES.put(Language.C, Collections.singletonList("text/x-c"));
+        MIME_TYPES.put(Language.CPP, Collections.singletonList("text/x-c++"));
+        MIME_TYPES.put(Language.HTML, Arrays.asList("text/html", "text/xhtml"));
+        MIME_TYPES.put(Language.JAVA, Collections.singletonList("text/x-java"));
+        MIME_TYPES.put(Language.JS, Collections.singletonList("text/javascript"));
+        MIME_TYPES.put(Language.JSP, Collections.singletonList("text/x-jsp"));
+        MIME_TYPES.put(Language.KOTLIN, Collections.singletonList("text/x-kotlin"));
+        MIME_TYPES.put(Language.PHP, Collections.singletonList("text/x-php5"));
+        MIME_TYPES.put(Language.PYTHON, Collections.singletonList("text/x-python"));
+        MIME_TYPES.put(Language.RUBY, Collections.singletonList("text/x-ruby"));
+        MIME_TYPES.put(Language.SCALA, Collections.singletonList("text/x-scala"));
+        MIME_TYPES.put(Language.TS, Collections.singletonList("text/typescript"));
+        MIME_TYPES.put(Language.XML, Collections.singletonList("text/xml"));
+    }
+    /**
+     * All languages known by SonarLint, analyzer bundled or not
+     */
+    public static final SonarLintLanguageRegistry ALL = of(EnumSet.allOf(Language.class));
+    private final Set<Language> languages;
+    private final Map<String, Set<Language>> languagesBySuffix = new HashMap<>();
+    private final Map<String, Set<Language>> languagesByMimeType = new HashMap<>();
+
+    private SonarLintLanguageRegistry(Set<Language> languages) {
+        this.languages = Collections.unmodifiableSet(languages);
+        for (Language language : languages) {
+            for (String suffix : language.getDefaultFileSuffixes()) {
+                // Some analyzers declare suffixes without dot
+                String normalizedSuffix = (suffix.startsWith(".") ? suffix.substring(1) : suffix).toLowerCase(Locale.ENGLISH);
+                languagesBySuffix.computeIfAbsent(normalizedSuffix, key -> EnumSet.noneOf(Language.class)).add(language);
+            }
+            for (String mimeType : MIME_TYPES.getOrDefault(language, Collections.emptyList())) {
+                languagesByMimeType.computeIfAbsent(mimeType, key -> EnumSet.noneOf(Language.class)).add(language);
+            }
+        }
+        languagesBySuffix.replaceAll((suffix, suffixLanguages) -> Collections.unmodifiableSet(suffixLanguages));
+        languagesByMimeType.replaceAll((mimeType, mimeTypeLanguages) -> Collections.unmodifiableSet(mimeTypeLanguages));
+    }
+
+    /**
+     * Create registry of languages
+     * @param languages languages of registry
+     * @return registry of languages
+     */
+    public static SonarLintLanguageRegistry of(Collection<Language> languages) {
+        return new SonarLintLanguageRegistry(languages.isEmpty() ? EnumSet.noneOf(Language.class) : EnumSet.copyOf(languages));
+    }
+
+    /**
+     * Create registry of languages of analyzers
+     * @param pluginKeys keys of analyzers
+     * @return registry of languages of analyzers
+     */
+    public static SonarLintLanguageRegistry ofPluginKeys(Collection<String> pluginKeys) {
+        return of(Arrays.stream(Language.values())
+            .filter(language -> pluginKeys.contains(language.getPluginKey()))
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * Retrieve languages of a file by its suffix
+     * @param fileName name of file
+     * @return languages of file, empty if file is not analyzed
+     */
+    public Set<Language> getLanguages(String fileName) {
+        int dotIndex = fileName.lastIndexOf('.');
+        if (dotIndex < 0) {
+            return Collections.emptySet();
+        }
+        return languagesBySuffix.getOrDefault(fileName.substring(dotIndex + 1).toLowerCase(Locale.ENGLISH), Collections.emptySet());
+    }
+
+    /**
+     * Retrieve languages of an editor mime type
+     * @param mimeType mime type like "text/x-java"
+     * @return languages of mime type, empty if not analyzed
+     */
+    public Set<Language> getLanguagesOfMimeType(String mimeType) {
+        return languagesByMimeType.getOrDefault(mimeType, Collections.emptySet());
+    }
+
+    /**
+     * Check if a file is analyzed by an analyzer of registry
+     * @param fileName name of file
+     * @return true if a language is known for file
+     */
+    public boolean isAnalyzed(String fileName) {
+        return !getLanguages(fileName).isEmpty();
+    }
+
+    public Set<Language> getLanguages() {
+        return languages;
+    }
+
+    /**
+     * Retrieve suffixes of files analyzed, without dot
+     * @return suffixes of files analyzed
+     */
+    public Set<String> getSuffixes() {
+        return Collections.unmodifiableSet(languagesBySuffix.keySet());
+    }
+
+    public Set<String> getMimeTypes() {
+        return Collections.unmodifiableSet(languagesByMimeType.keySet());
+    }
+}
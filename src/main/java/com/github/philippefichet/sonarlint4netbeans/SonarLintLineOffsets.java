@@ -0,0 +1,111 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+
+/**
+ * Start offset of each line of a text, computed once to map issue locations
+ * (line and offset in line) to offsets in text and offsets to lines.
+ * Lines are separated by "\n", "\r\n" or "\r" like SonarLint analyzers.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintLineOffsets {
+
+    private final int[] lineStartOffsets;
+    private final int lineCount;
+    private final int length;
+
+    private SonarLintLineOffsets(int[] lineStartOffsets, int lineCount, int length) {
+        this.lineStartOffsets = lineStartOffsets;
+        this.lineCount = lineCount;
+        this.length = length;
+    }
+
+    /**
+     * Compute start offset of each line of text
+     * @param text text to index
+     * @return line offsets of text
+     */
+    public static SonarLintLineOffsets of(CharSequence text) {
+        int[] lineStartOffsets = new int[16];
+        int lineCount = 1;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+                continue;
+            }
+            if (c == '\n' || c == '\r') {
+                if (lineCount == lineStartOffsets.length) {
+                    lineStartOffsets = Arrays.copyOf(lineStartOffsets, lineCount * 2);
+                }
+                lineStartOffsets[lineCount++] = i + 1;
+            }
+        }
+        return new SonarLintLineOffsets(lineStartOffsets, lineCount, length);
+    }
+
+    /**
+     * Retrieve number of lines
+     * @return number of lines, at least one
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Retrieve length of indexed text
+     * @return length of indexed text
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Retrieve offset of first character of line
+     * @param line line number starting at 1, bounded to existing lines
+     * @return offset of line
+     */
+    public int getLineStartOffset(int line) {
+        return lineStartOffsets[Math.max(0, Math.min(line, lineCount) - 1)];
+    }
+
+    /**
+     * Retrieve offset of a location in text
+     * @param line line number starting at 1
+     * @param lineOffset offset in line
+     * @return offset in text, bounded to text
+     */
+    public int getOffset(int line, int lineOffset) {
+        return Math.max(0, Math.min(getLineStartOffset(line) + lineOffset, length));
+    }
+
+    /**
+     * Retrieve line of an offset
+     * @param offset offset in text
+     * @return line number starting at 1
+     */
+    public int getLine(int offset) {
+        int index = Arrays.binarySearch(lineStartOffsets, 0, lineCount, offset);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
@@ -21,7 +21,10 @@ package com.github.philippefichet.sonarlint4netbeans;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.prefs.Preferences;
+import java.util.stream.Collectors;
 import org.openide.filesystems.FileChangeAdapter;
 import org.openide.filesystems.FileEvent;
 import org.openide.filesystems.FileObject;
@@ -84,6 +87,34 @@ public class SonarLintOptions {
         return getPreferences().getBoolean("options.applyDifferentRulesOnTestFiles", true);
     }
     
+    /**
+     * Change ".gitignore" like patterns of files excluded from project analysis
+     * @param analyzerExclusions patterns relative to analyzed directory
+     */
+    public void setAnalyzerExclusions(List<String> analyzerExclusions) {
+        getPreferences().put("options.analyzerExclusions", String.join(",", analyzerExclusions));
+    }
+
+    /**
+     * Retrieve ".gitignore" like patterns of files excluded from project analysis
+     * @return patterns relative to analyzed directory
+     */
+    public List<String> getAnalyzerExclusions() {
+        return toAnalyzerExclusions(getPreferences().get("options.analyzerExclusions", ""));
+    }
+
+    /**
+     * Split comma separated patterns
+     * @param analyzerExclusions comma separated patterns
+     * @return patterns without blank ones
+     */
+    public static List<String> toAnalyzerExclusions(String analyzerExclusions) {
+        return Arrays.stream(analyzerExclusions.split(","))
+            .map(String::trim)
+            .filter(exclusion -> !exclusion.isEmpty())
+            .collect(Collectors.toList());
+    }
+
     private FileSystem getFileSystem()
     {
         if (createMemoryFileSystem == null)
@@ -22,6 +22,7 @@ package com.github.philippefichet.sonarlint4netbeans;
 import java.awt.event.ItemEvent;
 import java.io.File;
 import java.io.IOException;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import javax.swing.JFileChooser;
@@ -45,6 +46,9 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
     private String nodeJSPathToSave = null;
     private Version nodeJSVersionToSave = null;
     private Boolean applyDifferentRulesOnTestFiles = null;
+    private Boolean loadAnalyzersOnDemandToSave = null;
+    private Integer enginePoolSizeToSave = null;
+    private List<String> analyzerExclusionsToSave = null;
     private SonarLintEngine engine;
     private SonarLintOptionsPanelOptionsListener listener;
 
@@ -79,6 +83,11 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
         openStyleSheet = new javax.swing.JButton();
         applyTestRules = new javax.swing.JCheckBox();
         nodeJSPathChooser = new javax.swing.JButton();
+        loadAnalyzersOnDemand = new javax.swing.JCheckBox();
+        enginePoolSizeLabel = new javax.swing.JLabel();
+        enginePoolSize = new javax.swing.JSpinner(new javax.swing.SpinnerNumberModel(engine.getEnginePoolSize(), 1, engine.getMaximumEnginePoolSize(), 1));
+        analyzerExclusionsLabel = new javax.swing.JLabel();
+        analyzerExclusions = new javax.swing.JTextField();
 
         org.openide.awt.Mnemonics.setLocalizedText(nodeJSPathLabel, org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.nodeJSPathLabel.text")); // NOI18N
 
@@ -100,6 +109,16 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
 
         org.openide.awt.Mnemonics.setLocalizedText(nodeJSPathChooser, org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.nodeJSPathChooser.text")); // NOI18N
 
+        org.openide.awt.Mnemonics.setLocalizedText(loadAnalyzersOnDemand, org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.loadAnalyzersOnDemand.text")); // NOI18N
+
+        org.openide.awt.Mnemonics.setLocalizedText(enginePoolSizeLabel, org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.enginePoolSizeLabel.text")); // NOI18N
+
+        enginePoolSize.setToolTipText(org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.enginePoolSize.toolTipText")); // NOI18N
+
+        org.openide.awt.Mnemonics.setLocalizedText(analyzerExclusionsLabel, org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.analyzerExclusionsLabel.text")); // NOI18N
+
+        analyzerExclusions.setToolTipText(org.openide.util.NbBundle.getMessage(SonarLintOptionsPanelOptions.class, "SonarLintOptionsPanelOptions.analyzerExclusions.toolTipText")); // NOI18N
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(this);
         this.setLayout(layout);
         layout.setHorizontalGroup(
@@ -121,7 +140,16 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
                                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                                 .addComponent(nodeJSPathChooser))
                             .addComponent(nodeJSVersionField)))
-                    .addComponent(applyTestRules, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE))
+                    .addComponent(applyTestRules, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addComponent(loadAnalyzersOnDemand, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(enginePoolSizeLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(enginePoolSize, javax.swing.GroupLayout.PREFERRED_SIZE, 60, javax.swing.GroupLayout.PREFERRED_SIZE))
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(analyzerExclusionsLabel)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(analyzerExclusions)))
                 .addContainerGap())
         );
         layout.setVerticalGroup(
@@ -143,7 +171,17 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                 .addComponent(openStyleSheet)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
-                .addComponent(applyTestRules))
+                .addComponent(applyTestRules)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                .addComponent(loadAnalyzersOnDemand)
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(enginePoolSizeLabel)
+                    .addComponent(enginePoolSize, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(analyzerExclusionsLabel)
+                    .addComponent(analyzerExclusions, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)))
         );
 
         nodeJSPathField.setText(engine.getNodeJSPath().orElse(""));
@@ -151,7 +189,12 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
 
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JTextField analyzerExclusions;
+    private javax.swing.JLabel analyzerExclusionsLabel;
     private javax.swing.JCheckBox applyTestRules;
+    private javax.swing.JSpinner enginePoolSize;
+    private javax.swing.JLabel enginePoolSizeLabel;
+    private javax.swing.JCheckBox loadAnalyzersOnDemand;
     private javax.swing.JLabel nodeJSFeedbackLabel;
     private javax.swing.JButton nodeJSPathChooser;
     private javax.swing.JTextField nodeJSPathField;
@@ -242,5 +285,42 @@ public class SonarLintOptionsPanelOptions extends javax.swing.JPanel {
                 listener.testRulesOptionsChanged(applyDifferentRulesOnTestFiles);
             }
         });
+        loadAnalyzersOnDemand.setSelected(engine.isLoadAnalyzersOnDemand());
+        loadAnalyzersOnDemand.addItemListener(e -> {
+            loadAnalyzersOnDemandToSave = e.getStateChange() == ItemEvent.SELECTED;
+            if (listener != null) {
+                listener.loadAnalyzersOnDemandOptionsChanged(loadAnalyzersOnDemandToSave);
+            }
+        });
+        enginePoolSize.addChangeListener(e -> {
+            enginePoolSizeToSave = (Integer) enginePoolSize.getValue();
+            if (listener != null) {
+                listener.enginePoolSizeOptionsChanged(enginePoolSizeToSave);
+            }
+        });
+        analyzerExclusions.setText(String.join(", ", sonarlintOptions.getAnalyzerExclusions()));
+        analyzerExclusions.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                analyzerExclusionsChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                analyzerExclusionsChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                analyzerExclusionsChanged();
+            }
+        });
+    }
+
+    private void analyzerExclusionsChanged() {
+        analyzerExclusionsToSave = SonarLintOptions.toAnalyzerExclusions(analyzerExclusions.getText());
+        if (listener != null) {
+            listener.analyzerExclusionsOptionsChanged(analyzerExclusionsToSave);
+        }
     }
 }
@@ -19,6 +19,7 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
+import java.util.List;
 import org.sonarsource.sonarlint.core.client.api.common.Version;
 
 /**
@@ -38,4 +39,22 @@ public interface SonarLintOptionsPanelOptionsListener {
      * @param applyDifferentRulesOnTestFiles 
      */
     public void testRulesOptionsChanged(Boolean applyDifferentRulesOnTestFiles);
+
+    /**
+     * Called when on demand analyzers loading configuration is changed
+     * @param loadAnalyzersOnDemand true to load analyzers only when a file of their language is analyzed
+     */
+    public void loadAnalyzersOnDemandOptionsChanged(Boolean loadAnalyzersOnDemand);
+
+    /**
+     * Called when number of engines analyzing files concurrently is changed
+     * @param enginePoolSize number of engines
+     */
+    public void enginePoolSizeOptionsChanged(Integer enginePoolSize);
+
+    /**
+     * Called when patterns of files excluded from project analysis are changed
+     * @param analyzerExclusions ".gitignore" like patterns
+     */
+    public void analyzerExclusionsOptionsChanged(List<String> analyzerExclusions);
 }
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import javax.swing.BoxLayout;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -40,6 +41,7 @@ import javax.swing.JSeparator;
 import javax.swing.JTable;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 import org.openide.util.Lookup;
@@ -56,6 +58,9 @@ public final class SonarLintPanel extends javax.swing.JPanel {
     private String nodeJSPathToSave;
     private Version nodeJSVersionToSave;
     private Boolean applyDifferentRulesOnTestFiles = null;
+    private Boolean loadAnalyzersOnDemand = null;
+    private Integer enginePoolSize = null;
+    private List<String> analyzerExclusions = null;
     private DefaultTableModel analyzerDefaultTableModel = new DefaultTableModel();
 
     private SonarLintRuleTableModel rulesDefaultTableModel = new SonarLintRuleTableModel();
@@ -74,13 +79,62 @@ public final class SonarLintPanel extends javax.swing.JPanel {
         optionPanel.add(loadingPanel, BorderLayout.NORTH);
 
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        sonarLintEngine.whenInitialized(engine -> {
-            analyzerDefaultTableModel.addColumn("Key");
-            analyzerDefaultTableModel.addColumn("Name");
-            analyzerDefaultTableModel.addColumn("Version");
-            analyzerDefaultTableModel.addColumn("Status");
+        sonarLintEngine.whenInitializationFailed(throwable -> SwingUtilities.invokeLater(() -> {
+            waiting.setIndeterminate(false);
+            loadingText.setText("SonarLint engine initialization failed: " + throwable.getMessage());
+        }));
+        analyzerDefaultTableModel.addColumn("Key");
+        analyzerDefaultTableModel.addColumn("Name");
+        analyzerDefaultTableModel.addColumn("Version");
+        analyzerDefaultTableModel.addColumn("Status");
+        sonarLintEngine.whenInitialized(engine -> SwingUtilities.invokeLater(() -> refreshAnalyzers(engine)));
+        rulesDefaultTableModel.addTableModelListener(e -> {
+            controller.changed();
+            int column = e.getColumn();
+            if (column == 0) {
+                int firstRow = e.getFirstRow();
+                RuleKey ruleKey = RuleKey.parse(
+                    rulesDefaultTableModel.getRuleKeyValueAt(firstRow).toString()
+                );
+                Object valueAt = rulesDefaultTableModel.getValueAt(firstRow, column);
+                ruleKeyChanged.put(ruleKey, (Boolean) valueAt);
+            }
+        });
+        categoriesList.addListSelectionListener((e) -> {
+            if ("Rules".equals(categoriesList.getSelectedValue())) {
+                initRulesPanel(sonarLintEngine);
+            }
+            if ("Analyzers".equals(categoriesList.getSelectedValue())) {
+                initAnalyzersPanel();
+            }
+            if ("Options".equals(categoriesList.getSelectedValue())) {
+                initOptionsPanel(sonarLintEngine);
+            }
+            optionPanel.revalidate();
+            optionPanel.repaint();
+        });
+        // Rule details may come from on-disk snapshot before engine is ready
+        sonarLintEngine.whenRuleDetailsAvailable(engine -> SwingUtilities.invokeLater(() -> {
+            String selectedCategory = categoriesList.getSelectedValue();
+            // Rule panel by default
+            if (selectedCategory == null || "Rules".equals(selectedCategory)) {
+                initRulesPanel(engine);
+                optionPanel.revalidate();
+                optionPanel.repaint();
+            }
+        }));
+    }
+
+    private void refreshAnalyzers(SonarLintEngine engine) {
+        while (analyzerDefaultTableModel.getRowCount() > 0) {
+            analyzerDefaultTableModel.removeRow(0);
+        }
+        List<String> notLoadedAnalyzers = new ArrayList<>(engine.getPluginKeys());
+        // Analyzers may be reloaded on demand, do not wait engine
+        if (engine.waitingInitialization(0, TimeUnit.MILLISECONDS)) {
             Collection<PluginDetails> loadedAnalyzers = engine.getPluginDetails();
             for (PluginDetails loadedAnalyzer : loadedAnalyzers) {
+                notLoadedAnalyzers.remove(loadedAnalyzer.key());
                 analyzerDefaultTableModel.addRow(new Object[]{
                     loadedAnalyzer.key(),
                     loadedAnalyzer.name(),
@@ -88,44 +142,19 @@ public final class SonarLintPanel extends javax.swing.JPanel {
                     loadedAnalyzer.skipReason().map(reason -> "Disable: " + reason.toString()).orElse("Enable")
                 });
             }
-
-            rulesDefaultTableModel.addTableModelListener(e -> {
-                controller.changed();
-                int column = e.getColumn();
-
-                if (column == 0) {
-                    int firstRow = e.getFirstRow();
-                    RuleKey ruleKey = RuleKey.parse(
-                        rulesDefaultTableModel.getRuleKeyValueAt(firstRow).toString()
-                    );
-                    Object valueAt = rulesDefaultTableModel.getValueAt(firstRow, column);
-                    ruleKeyChanged.put(ruleKey, (Boolean) valueAt);
-                }
-            });
-
-            categoriesList.addListSelectionListener((e) -> {
-                if ("Rules".equals(categoriesList.getSelectedValue())) {
-                    initRulesPanel(engine);
-                }
-                if ("Analyzers".equals(categoriesList.getSelectedValue())) {
-                    initAnalyzersPanel();
-                }
-                if ("Options".equals(categoriesList.getSelectedValue())) {
-                    initOptionsPanel(engine);
-                }
-                optionPanel.revalidate();
-                optionPanel.repaint();
+        }
+        for (String notLoadedAnalyzer : notLoadedAnalyzers) {
+            analyzerDefaultTableModel.addRow(new Object[]{
+                notLoadedAnalyzer,
+                "",
+                "",
+                engine.isLoadAnalyzersOnDemand() ? "Not loaded (on demand)" : "Loading ..."
             });
-
-            // Rule panel by default
-            initRulesPanel(engine);
-            optionPanel.revalidate();
-            optionPanel.repaint();
-        });
-
+        }
     }
 
     private void initAnalyzersPanel() {
+        refreshAnalyzers(Lookup.getDefault().lookup(SonarLintEngine.class));
         optionPanel.removeAll();
         JTable analyzersTable = new JTable(analyzerDefaultTableModel);
         optionPanel.add(analyzersTable.getTableHeader(), BorderLayout.NORTH);
@@ -146,6 +175,24 @@ public final class SonarLintPanel extends javax.swing.JPanel {
             public void testRulesOptionsChanged(Boolean apply) {
                 applyDifferentRulesOnTestFiles = apply;
             }
+
+            @Override
+            public void loadAnalyzersOnDemandOptionsChanged(Boolean loadOnDemand) {
+                loadAnalyzersOnDemand = loadOnDemand;
+                controller.changed();
+            }
+
+            @Override
+            public void enginePoolSizeOptionsChanged(Integer poolSize) {
+                enginePoolSize = poolSize;
+                controller.changed();
+            }
+
+            @Override
+            public void analyzerExclusionsOptionsChanged(List<String> exclusions) {
+                analyzerExclusions = exclusions;
+                controller.changed();
+            }
         });
         optionPanel.add(container, BorderLayout.NORTH);
         optionPanel.revalidate();
@@ -284,11 +331,20 @@ public final class SonarLintPanel extends javax.swing.JPanel {
         if (sonarLintOptions != null && applyDifferentRulesOnTestFiles != null) {
             sonarLintOptions.useDifferentRulesOnTestFiles(applyDifferentRulesOnTestFiles);
         }
+        if (sonarLintOptions != null && analyzerExclusions != null) {
+            sonarLintOptions.setAnalyzerExclusions(analyzerExclusions);
+        }
         sonarLintEngine.excludeRuleKeys(ruleKeysDisable);
         sonarLintEngine.includeRuleKeys(ruleKeysEnable);
         if (nodeJSPathToSave != null && nodeJSVersionToSave != null) {
             sonarLintEngine.setNodeJSPathAndVersion(nodeJSPathToSave, nodeJSVersionToSave);
         }
+        if (loadAnalyzersOnDemand != null) {
+            sonarLintEngine.setLoadAnalyzersOnDemand(loadAnalyzersOnDemand);
+        }
+        if (enginePoolSize != null) {
+            sonarLintEngine.setEnginePoolSize(enginePoolSize);
+        }
     }
 
     boolean valid() {
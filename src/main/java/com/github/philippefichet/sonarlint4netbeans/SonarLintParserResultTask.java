@@ -19,12 +19,12 @@
  */
 package com.github.philippefichet.sonarlint4netbeans;
 
-import java.io.IOException;
 import java.util.logging.Logger;
 import org.netbeans.modules.parsing.spi.Parser;
 import org.netbeans.modules.parsing.spi.ParserResultTask;
 import org.netbeans.modules.parsing.spi.Scheduler;
 import org.netbeans.modules.parsing.spi.SchedulerEvent;
+import org.openide.filesystems.FileObject;
 
 /**
  *
@@ -34,21 +34,29 @@ public class SonarLintParserResultTask extends ParserResultTask<Parser.Result> {
 
     private static final Logger LOG = Logger.getLogger(SonarLintParserResultTask.class.getCanonicalName());
     private final SonarLintEngine standaloneSonarLintEngineImpl;
+    private volatile FileObject fileObject;
     public SonarLintParserResultTask(SonarLintEngine standaloneSonarLintEngineImpl) {
         this.standaloneSonarLintEngineImpl = standaloneSonarLintEngineImpl;
     }
 
     @Override
     public void run(Parser.Result result, SchedulerEvent event) {
-        try {
-            SonarLintAnnotationHandler.analyze(
-                standaloneSonarLintEngineImpl,
-                result.getSnapshot().getSource().getFileObject(),
-                result.getSnapshot().getText().toString()
-            );
-        } catch (IOException ex) {
-            LOG.severe("Error while analyze parsing result: " + result + " => " + ex.getMessage());
+        // Sonarlint not ready
+        if (standaloneSonarLintEngineImpl == null) {
+            return;
         }
+        FileObject resultFileObject = result.getSnapshot().getSource().getFileObject();
+        if (resultFileObject == null) {
+            LOG.fine("Parsing result without file: " + result);
+            return;
+        }
+        fileObject = resultFileObject;
+        // Analysis out of parsing thread, coalesced with next changes
+        SonarLintEditorAnalysisScheduler.getDefault().submit(
+            standaloneSonarLintEngineImpl,
+            resultFileObject,
+            result.getSnapshot().getText()
+        );
     }
 
     @Override
@@ -63,6 +71,9 @@ public class SonarLintParserResultTask extends ParserResultTask<Parser.Result> {
 
     @Override
     public void cancel() {
-        // Not cancelable
+        FileObject canceledFileObject = fileObject;
+        if (canceledFileObject != null) {
+            SonarLintEditorAnalysisScheduler.getDefault().cancel(canceledFileObject);
+        }
     }
 }
@@ -35,6 +35,10 @@ public class SonarLintParserResultTaskFactory extends TaskFactory {
     @Override
     public Collection<? extends SchedulerTask> create(Snapshot snapshot) {
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
+        // Embedded or registered mime types without bundled analyzer
+        if (sonarLintEngine != null && sonarLintEngine.getLanguageRegistry().getLanguagesOfMimeType(snapshot.getMimeType()).isEmpty()) {
+            return Collections.emptyList();
+        }
         return Collections.singletonList(new SonarLintParserResultTask(sonarLintEngine));
     }
 }
@@ -0,0 +1,166 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.sonarsource.sonarlint.core.client.api.common.RuleKey;
+
+/**
+ * Immutable snapshot of included rules, excluded rules and customized
+ * rule parameters, rebuilt only when configuration of engine changed
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintRuleActivation {
+
+    private final long version;
+    private final List<RuleKey> includedRules;
+    private final List<RuleKey> excludedRules;
+    private final Map<RuleKey, Map<String, String>> ruleParameters;
+    private final Map<Language, SonarLintRuleActivation> ruleActivationByLanguage;
+    private final Map<Set<Language>, SonarLintRuleActivation> ruleActivationByLanguages = new ConcurrentHashMap<>();
+    private volatile String fingerprint;
+
+    public SonarLintRuleActivation(long version, List<RuleKey> includedRules, List<RuleKey> excludedRules, Map<RuleKey, Map<String, String>> ruleParameters) {
+        this(version, includedRules, excludedRules, ruleParameters, Collections.emptyMap());
+    }
+
+    /**
+     * @param version version of configuration
+     * @param includedRules rules to include on analysis
+     * @param excludedRules rules to exclude on analysis
+     * @param ruleParameters rules with customized parameter value
+     * @param ruleActivationByLanguage subset of rules for each language
+     */
+    public SonarLintRuleActivation(long version, List<RuleKey> includedRules, List<RuleKey> excludedRules, Map<RuleKey, Map<String, String>> ruleParameters, Map<Language, SonarLintRuleActivation> ruleActivationByLanguage) {
+        this.version = version;
+        this.includedRules = Collections.unmodifiableList(includedRules);
+        this.excludedRules = Collections.unmodifiableList(excludedRules);
+        this.ruleParameters = Collections.unmodifiableMap(ruleParameters);
+        this.ruleActivationByLanguage = ruleActivationByLanguage;
+    }
+
+    /**
+     * Retrieve version of configuration, changed each time configuration of engine changed
+     * @return version of configuration
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieve rules to include on analysis
+     * @return rules to include on analysis
+     */
+    public Collection<RuleKey> getIncludedRules() {
+        return includedRules;
+    }
+
+    /**
+     * Retrieve rules to exclude on analysis
+     * @return rules to exclude on analysis
+     */
+    public Collection<RuleKey> getExcludedRules() {
+        return excludedRules;
+    }
+
+    /**
+     * Retrieve all rules with customized parameter value
+     * @return All rules with customized parameter value
+     */
+    public Map<RuleKey, Map<String, String>> getRuleParameters() {
+        return ruleParameters;
+    }
+
+    /**
+     * Retrieve digest of included rules and rule parameters, unlike version
+     * same configuration has same fingerprint across restarts
+     * @return hexadecimal SHA-256 digest of configuration
+     */
+    public String getFingerprint() {
+        String computed = fingerprint;
+        if (computed == null) {
+            StringBuilder configuration = new StringBuilder();
+            new TreeSet<>(includedRules.stream().map(RuleKey::toString).collect(Collectors.toList()))
+                .forEach(ruleKey -> configuration.append(ruleKey).append('\n'));
+            Map<String, Map<String, String>> sortedRuleParameters = new TreeMap<>();
+            ruleParameters.forEach((ruleKey, parameters) -> sortedRuleParameters.put(ruleKey.toString(), new TreeMap<>(parameters)));
+            sortedRuleParameters.forEach((ruleKey, parameters) -> parameters.forEach(
+                (name, value) -> configuration.append(ruleKey).append(':').append(name).append('=').append(value).append('\n')
+            ));
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(configuration.toString().getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    hex.append(String.format("%02x", b));
+                }
+                computed = hex.toString();
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+            fingerprint = computed;
+        }
+        return computed;
+    }
+
+    /**
+     * Retrieve subset of rules of languages, computed once by set of languages
+     * @param languages languages of files to analyze
+     * @return rules of languages only
+     */
+    public SonarLintRuleActivation forLanguages(Collection<Language> languages) {
+        if (languages.size() == 1) {
+            SonarLintRuleActivation ruleActivation = ruleActivationByLanguage.get(languages.iterator().next());
+            if (ruleActivation != null) {
+                return ruleActivation;
+            }
+        }
+        Set<Language> languagesKey = languages.isEmpty() ? EnumSet.noneOf(Language.class) : EnumSet.copyOf(languages);
+        return ruleActivationByLanguages.computeIfAbsent(languagesKey, key -> {
+            List<RuleKey> languagesIncludedRules = new ArrayList<>();
+            List<RuleKey> languagesExcludedRules = new ArrayList<>();
+            Map<RuleKey, Map<String, String>> languagesRuleParameters = new HashMap<>();
+            for (Language language : key) {
+                SonarLintRuleActivation ruleActivation = ruleActivationByLanguage.get(language);
+                if (ruleActivation != null) {
+                    languagesIncludedRules.addAll(ruleActivation.getIncludedRules());
+                    languagesExcludedRules.addAll(ruleActivation.getExcludedRules());
+                    languagesRuleParameters.putAll(ruleActivation.getRuleParameters());
+                }
+            }
+            return new SonarLintRuleActivation(version, languagesIncludedRules, languagesExcludedRules, languagesRuleParameters);
+        });
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParamType;
+
+/**
+ * On-disk snapshot of rule details to render rules before analyzers are loaded.
+ * Snapshot is ignored if written for another version of analyzers.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public final class SonarLintRuleDetailsCache {
+
+    private static final Logger LOG = Logger.getLogger(SonarLintRuleDetailsCache.class.getName());
+    private static final int FORMAT_VERSION = 1;
+    private final Gson gson = new Gson();
+    private final Path cacheFile;
+    private final String version;
+
+    /**
+     * @param cacheFile file used to store snapshot
+     * @param pluginVersions versions of all analyzers providing rules
+     */
+    public SonarLintRuleDetailsCache(Path cacheFile, String... pluginVersions) {
+        this.cacheFile = cacheFile;
+        this.version = FORMAT_VERSION + ":" + String.join(":", pluginVersions);
+    }
+
+    /**
+     * Read snapshot from disk
+     * @return rule details or empty if no snapshot exists for current analyzer versions,
+     * rules of unknown languages are skipped
+     */
+    public Optional<Collection<StandaloneRuleDetails>> load() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            Snapshot snapshot = gson.fromJson(reader, Snapshot.class);
+            if (snapshot == null || !version.equals(snapshot.version) || snapshot.rules == null) {
+                return Optional.empty();
+            }
+            List<StandaloneRuleDetails> rules = new ArrayList<>(snapshot.rules.size());
+            for (CachedRuleDetails rule : snapshot.rules) {
+                // Rules are grouped by language, language may be removed since snapshot
+                if (rule != null && rule.getLanguage() != null) {
+                    rules.add(rule);
+                }
+            }
+            return Optional.of(Collections.unmodifiableList(rules));
+        } catch (IOException | JsonParseException ex) {
+            LOG.log(Level.WARNING, "Unable to read rule details cache \"" + cacheFile + "\"", ex);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Write snapshot on disk
+     * @param ruleDetails rule details of loaded analyzers
+     */
+    public void save(Collection<StandaloneRuleDetails> ruleDetails) {
+        Snapshot snapshot = new Snapshot();
+        snapshot.version = version;
+        snapshot.rules = new ArrayList<>(ruleDetails.size());
+        for (StandaloneRuleDetails ruleDetail : ruleDetails) {
+            snapshot.rules.add(new CachedRuleDetails(ruleDetail));
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path temporaryFile = Files.createTempFile(cacheFile.getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                gson.toJson(snapshot, writer);
+            }
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            LOG.log(Level.WARNING, "Unable to write rule details cache \"" + cacheFile + "\"", ex);
+        }
+    }
+
+    private static final class Snapshot {
+        private String version;
+        private List<CachedRuleDetails> rules;
+    }
+
+    private static final class CachedRuleDetails implements StandaloneRuleDetails {
+        private final String key;
+        private final String name;
+        private final String htmlDescription;
+        private final String languageKey;
+        private final String severity;
+        private final String type;
+        private final boolean activeByDefault;
+        private final String[] tags;
+        private final List<CachedRuleParam> params;
+
+        private CachedRuleDetails(StandaloneRuleDetails ruleDetails) {
+            key = ruleDetails.getKey();
+            name = ruleDetails.getName();
+            htmlDescription = ruleDetails.getHtmlDescription();
+            languageKey = ruleDetails.getLanguage().getLanguageKey();
+            severity = ruleDetails.getSeverity();
+            type = ruleDetails.getType();
+            activeByDefault = ruleDetails.isActiveByDefault();
+            tags = ruleDetails.getTags();
+            params = new ArrayList<>();
+            for (StandaloneRuleParam param : ruleDetails.paramDetails()) {
+                params.add(new CachedRuleParam(param));
+            }
+        }
+
+        @Override
+        public boolean isActiveByDefault() {
+            return activeByDefault;
+        }
+
+        @Override
+        public String[] getTags() {
+            return tags == null ? new String[0] : Arrays.copyOf(tags, tags.length);
+        }
+
+        @Override
+        public Collection<StandaloneRuleParam> paramDetails() {
+            return params == null ? Collections.emptyList() : Collections.unmodifiableList(params);
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getHtmlDescription() {
+            return htmlDescription;
+        }
+
+        @Override
+        public Language getLanguage() {
+            return Language.forKey(languageKey).orElse(null);
+        }
+
+        @Override
+        public String getSeverity() {
+            return severity;
+        }
+
+        @Override
+        public String getType() {
+            return type;
+        }
+    }
+
+    private static final class CachedRuleParam implements StandaloneRuleParam {
+        private final String key;
+        private final String name;
+        private final String description;
+        private final String defaultValue;
+        private final StandaloneRuleParamType type;
+        private final boolean multiple;
+        private final List<String> possibleValues;
+
+        private CachedRuleParam(StandaloneRuleParam param) {
+            key = param.key();
+            name = param.name();
+            description = param.description();
+            defaultValue = param.defaultValue();
+            type = param.type();
+            multiple = param.multiple();
+            possibleValues = param.possibleValues() == null ? new ArrayList<>() : new ArrayList<>(param.possibleValues());
+        }
+
+        @Override
+        public String key() {
+            return key;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public String description() {
+            return description;
+        }
+
+        @Override
+        public String defaultValue() {
+            return defaultValue;
+        }
+
+        @Override
+        public StandaloneRuleParamType type() {
+            return type;
+        }
+
+        @Override
+        public boolean multiple() {
+            return multiple;
+        }
+
+        @Override
+        public List<String> possibleValues() {
+            return possibleValues == null ? Collections.emptyList() : Collections.unmodifiableList(possibleValues);
+        }
+    }
+}
@@ -65,7 +65,7 @@ public class SonarLintTaskScanner extends FileTaskScanner implements PropertyCha
         }
         sonarLintEngine.waitingInitialization();
         try {
-            List<Issue> analyze = SonarLintUtils.analyze(fo, null);
+            List<Issue> analyze = SonarLintUtils.analyze(fo, null, SonarLintEngine.AnalysisPriority.BATCH);
             return analyze.stream()
                 .map(issue -> {
                     Integer startLine = issue.getStartLine();
@@ -25,16 +25,16 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.nio.file.FileVisitResult;
-import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 import javax.swing.ImageIcon;
@@ -47,9 +47,9 @@ import org.openide.loaders.DataObject;
 import org.openide.nodes.Node;
 import org.openide.util.Exceptions;
 import org.openide.util.Lookup;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
 import org.sonarsource.sonarlint.core.client.api.common.ProgressMonitor;
 import org.sonarsource.sonarlint.core.client.api.common.RuleDetails;
-import org.sonarsource.sonarlint.core.client.api.common.RuleKey;
 import org.sonarsource.sonarlint.core.client.api.common.Version;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.AnalysisResults;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.ClientInputFile;
@@ -113,7 +113,47 @@ public final class SonarLintUtils {
         return "https://rules.sonarsource.com/" + keySplit[0] + "/RSPEC-" + keySplit[1].substring(1);
     }
 
-    public static List<Issue> analyze(FileObject fileObject, String contentToAnalyze) throws IOException {
+    public static List<Issue> analyze(FileObject fileObject, CharSequence contentToAnalyze) throws IOException {
+        return analyze(fileObject, contentToAnalyze, SonarLintEngine.AnalysisPriority.INTERACTIVE);
+    }
+
+    /**
+     * Analyze one file
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content of file or null to read content from disk
+     * @param priority lane of engine pool to use
+     * @return issues found
+     * @throws IOException if file cannot be read
+     */
+    public static List<Issue> analyze(FileObject fileObject, CharSequence contentToAnalyze, SonarLintEngine.AnalysisPriority priority) throws IOException {
+        return analyze(fileObject, contentToAnalyze, priority, null);
+    }
+
+    /**
+     * Analyze one file
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content of file or null to read content from disk
+     * @param priority lane of engine pool to use
+     * @param monitor monitor to cancel analysis, can be null
+     * @return issues found, empty while analyzers of file are loading on demand
+     * @throws IOException if file cannot be read
+     */
+    public static List<Issue> analyze(FileObject fileObject, CharSequence contentToAnalyze, SonarLintEngine.AnalysisPriority priority, ProgressMonitor monitor) throws IOException {
+        return analyze(fileObject, contentToAnalyze, priority, monitor, null);
+    }
+
+    /**
+     * Analyze one file
+     * @param fileObject file to analyze
+     * @param contentToAnalyze content of file or null to read content from disk
+     * @param priority lane of engine pool to use
+     * @param monitor monitor to cancel analysis, can be null
+     * @param engineDurationListener receive duration in milliseconds of analysis by engine,
+     * not called when issues are cached, can be null
+     * @return issues found, empty while analyzers of file are loading on demand
+     * @throws IOException if file cannot be read
+     */
+    public static List<Issue> analyze(FileObject fileObject, CharSequence contentToAnalyze, SonarLintEngine.AnalysisPriority priority, ProgressMonitor monitor, LongConsumer engineDurationListener) throws IOException {
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
         if (sonarLintEngine == null) {
             return Collections.emptyList();
@@ -122,19 +162,19 @@ public final class SonarLintUtils {
         SonarLintOptions sonarlintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
         boolean useTestRules = sonarlintOptions == null || sonarlintOptions.applyDifferentRulesOnTestFiles();
 
+        Set<Language> languages = sonarLintEngine.getLanguageRegistry().getLanguages(fileObject.getNameExt());
+        // No bundled analyzer for this file
+        if (languages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Analyzers loaded on demand in background, file is analyzed by next request once they are loaded
+        if (!sonarLintEngine.requireLanguages(languages).isDone()) {
+            return Collections.emptyList();
+        }
         String sonarLintHome = System.getProperty("user.home") + File.separator + ".sonarlint4netbeans";
         List<Issue> issues = new ArrayList<>();
-        Collection<StandaloneRuleDetails> allRuleDetails = sonarLintEngine.getAllRuleDetails();
-        List<RuleKey> excludedRules = new ArrayList<>();
-        List<RuleKey> includedRules = new ArrayList<>();
-        for (RuleDetails allRuleDetail : allRuleDetails) {
-            RuleKey ruleKey = RuleKey.parse(allRuleDetail.getKey());
-            if (sonarLintEngine.isExcluded(allRuleDetail)) {
-                excludedRules.add(ruleKey);
-            } else {
-                includedRules.add(ruleKey);
-            }
-        }
+        // Only rules of language of file are sent to engine
+        SonarLintRuleActivation ruleActivation = sonarLintEngine.getRuleActivation().forLanguages(languages);
 
         File toFile = FileUtil.toFile(fileObject);
         if (toFile == null) {
@@ -143,33 +183,66 @@ public final class SonarLintUtils {
         Path path = toFile.toPath();
         List<ClientInputFile> files = new ArrayList<>();
         boolean applyTestRules = useTestRules && SonarLintUtils.isTest(fileObject);
-       files.add(new FSClientInputFile(
-            contentToAnalyze == null ? new String(Files.readAllBytes(path)) : contentToAnalyze,
-            path.toAbsolutePath(),
+        Charset encoding = FileEncodingQuery.getEncoding(fileObject);
+        Path absolutePath = path.toAbsolutePath();
+        // Unchanged content with same rules has same issues
+        SonarLintIssueCache.Key issueCacheKey = contentToAnalyze == null
+            ? SonarLintIssueCache.key(absolutePath, encoding, ruleActivation.getVersion(), applyTestRules)
+            : SonarLintIssueCache.key(absolutePath.toString(), contentToAnalyze, ruleActivation.getVersion(), applyTestRules);
+        Optional<List<Issue>> cachedIssues = SonarLintIssueCache.getDefault().get(issueCacheKey);
+        if (cachedIssues.isPresent()) {
+            return cachedIssues.get();
+        }
+        // Content is streamed from unsaved text or from disk, never copied
+        files.add(new FSClientInputFile(
+            contentToAnalyze,
+            absolutePath,
             path.toFile().getName(),
             applyTestRules,
-            FileEncodingQuery.getEncoding(fileObject))
+            encoding)
         );
 
         StandaloneAnalysisConfiguration standaloneAnalysisConfiguration =
             StandaloneAnalysisConfiguration.builder()
             .setBaseDir(new File(sonarLintHome).toPath())
             .addInputFiles(files)
-            .addExcludedRules(excludedRules)
-            .addIncludedRules(includedRules)
-            .addRuleParameters(sonarLintEngine.getRuleParameters())
+            .addExcludedRules(ruleActivation.getExcludedRules())
+            .addIncludedRules(ruleActivation.getIncludedRules())
+            .addRuleParameters(ruleActivation.getRuleParameters())
             .build();
 
 
+        long start = System.currentTimeMillis();
         AnalysisResults analyze = sonarLintEngine.analyze(
             standaloneAnalysisConfiguration,
             issues::add,
             null,
-            null
+            monitor,
+            priority
         );
+        if (engineDurationListener != null) {
+            engineDurationListener.accept(System.currentTimeMillis() - start);
+        }
+        if (analyze.failedAnalysisFiles().isEmpty()) {
+            long contentLength = contentToAnalyze == null ? Files.size(absolutePath) : contentToAnalyze.length();
+            SonarLintIssueCache.getDefault().put(issueCacheKey, issues, contentLength);
+        }
         return issues;
     }
 
+    /**
+     * Retrieve languages of files from their default suffixes
+     * @param fileNames names of files
+     * @return languages of files, unknown files are ignored
+     */
+    public static Set<Language> toLanguages(Collection<String> fileNames) {
+        Set<Language> languages = EnumSet.noneOf(Language.class);
+        for (String fileName : fileNames) {
+            languages.addAll(SonarLintLanguageRegistry.ALL.getLanguages(fileName));
+        }
+        return languages;
+    }
+
     /**
      * Check if file is in test directory from project
      *
@@ -238,101 +311,64 @@ public final class SonarLintUtils {
             return new DefaultAnalysisResult();
         }
 
-        String sonarLintHome = System.getProperty("user.home") + File.separator + ".sonarlint4netbeans";
-        Collection<StandaloneRuleDetails> allRuleDetails = sonarLintEngine.getAllRuleDetails();
-        List<RuleKey> excludedRules = new ArrayList<>();
-        List<RuleKey> includedRules = new ArrayList<>();
-        for (RuleDetails allRuleDetail : allRuleDetails) {
-            RuleKey ruleKey = RuleKey.parse(allRuleDetail.getKey());
-            if (sonarLintEngine.isExcluded(allRuleDetail)) {
-                excludedRules.add(ruleKey);
-            } else {
-                includedRules.add(ruleKey);
-            }
-        }
-        
-        List<FSClientInputFile> clientInputFiles = new ArrayList<>();
-        for (File file : files) {
-            // Map file to implementation of ClientInputFile
-            Path path = file.toPath();
-            try {
-                Charset encoding = FileEncodingQuery.getEncoding(FileUtil.toFileObject(file));
-                FileObject fileObject = FileUtil.toFileObject(file);
-                clientInputFiles.add(new FSClientInputFile(
-                    new String(Files.readAllBytes(path)),
-                    path.toAbsolutePath(),
-                    path.toFile().getName(),
-                    fileObject != null && SonarLintUtils.isTest(fileObject),
-                    encoding
-                ));
-            } catch (IOException ex) {
-                LOG.warning("Error during getEncoding from \"" + file.getAbsolutePath() + "\": " + ex.getMessage());
-            }
-        }
-
-        StandaloneAnalysisConfiguration standaloneAnalysisConfiguration =
-            StandaloneAnalysisConfiguration.builder()
-            .setBaseDir(new File(sonarLintHome).toPath())
-            .addInputFiles(clientInputFiles)
-            .addExcludedRules(excludedRules)
-            .addIncludedRules(includedRules)
-            .addRuleParameters(sonarLintEngine.getRuleParameters())
-            .build();
-
-        // Add listener only after configuration to prevent ClientInputFile.uri() call during configuration phase
-        clientInputFiles.forEach(file -> file.addListener(clientInputFileInputStreamEvent));
-        AnalysisResults analyze = sonarLintEngine.analyze(
-            standaloneAnalysisConfiguration,
+        SonarLintBatchAnalyzer sonarLintBatchAnalyzer = new SonarLintBatchAnalyzer(
+            sonarLintEngine,
             listener,
-            null,
-            new ProgressMonitor() {
-                @Override
-                public boolean isCanceled() {
-                    return sonarLintAnalyzerCancelableTask != null && sonarLintAnalyzerCancelableTask.isCanceled();
-                }
+            clientInputFileInputStreamEvent,
+            toProgressMonitor(sonarLintAnalyzerCancelableTask),
+            Integer.MAX_VALUE,
+            SonarLintBatchAnalyzer.getBatchParallelism(sonarLintEngine)
+        );
+        files.forEach(file -> sonarLintBatchAnalyzer.accept(file.toPath()));
+        return sonarLintBatchAnalyzer.finish();
+    }
+
+    /**
+     * Create monitor canceled with task
+     * @param sonarLintAnalyzerCancelableTask task, can be null
+     * @return monitor canceled with task
+     */
+    public static ProgressMonitor toProgressMonitor(SonarLintAnalyzerCancelableTask sonarLintAnalyzerCancelableTask) {
+        return new ProgressMonitor() {
+            @Override
+            public boolean isCanceled() {
+                return sonarLintAnalyzerCancelableTask != null && sonarLintAnalyzerCancelableTask.isCanceled();
             }
+        };
+    }
+
+    /**
+     * Create walker selecting files of languages of bundled analyzers, with exclusions of options
+     * @param sonarLintEngine engine with bundled analyzers
+     * @param sonarLintOptions options with exclusions, can be null
+     * @return walker of files to analyze
+     */
+    public static SonarLintFileWalker toFileWalker(SonarLintEngine sonarLintEngine, SonarLintOptions sonarLintOptions) {
+        return new SonarLintFileWalker(
+            sonarLintEngine.getLanguageRegistry()::isAnalyzed,
+            sonarLintOptions == null ? Collections.emptyList() : sonarLintOptions.getAnalyzerExclusions()
         );
-        return analyze;
     }
 
-    
-    public static List<File> toFiles(Node[] nodes) {
-        List<File> files = new ArrayList<>();
+    /**
+     * Retrieve files or directories of nodes
+     * @param nodes nodes with a DataObject
+     * @return paths of nodes
+     */
+    public static List<Path> toPaths(Node[] nodes) {
+        List<Path> paths = new ArrayList<>();
         for (Node node : nodes) {
             DataObject dataObjectOfNode = node.getLookup().lookup(DataObject.class);
             if (dataObjectOfNode != null) {
                 File file = FileUtil.toFile(dataObjectOfNode.getPrimaryFile());
-                try {
-                    Files.walkFileTree(file.toPath(), new FileVisitor<Path>() {
-                        @Override
-                        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                            return FileVisitResult.CONTINUE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                            files.add(file.toFile());
-                            return FileVisitResult.CONTINUE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
-                            return FileVisitResult.SKIP_SUBTREE;
-                        }
-                        
-                        @Override
-                        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                            return FileVisitResult.CONTINUE;
-                        }
-                    });
-                } catch (IOException ex) {
-                    Exceptions.printStackTrace(ex);
+                if (file != null) {
+                    paths.add(file.toPath());
                 }
             }
         }
-        return files;
+        return paths;
     }
-    
+
     /**
      * Cut start URI too long
      * @param uri
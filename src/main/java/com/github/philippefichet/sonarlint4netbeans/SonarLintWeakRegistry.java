@@ -0,0 +1,211 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Concurrent registry of values by key, keys are weakly referenced and
+ * compared by identity: an entry is forgotten once its key is garbage
+ * collected. Number of entries and total weight of values are bounded,
+ * least recently put entries are evicted first.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class SonarLintWeakRegistry<K, V> {
+
+    private final ConcurrentHashMap<Object, Entry<K, V>> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> collectedKeys = new ReferenceQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong weight = new AtomicLong();
+    private final int maximumEntries;
+    private final long maximumWeight;
+    private final ToLongFunction<V> weigher;
+    private final Consumer<V> evictionListener;
+
+    /**
+     * @param maximumEntries maximum number of entries
+     * @param maximumWeight maximum total weight of values
+     * @param weigher weight of a value
+     * @param evictionListener called with values evicted to respect bounds
+     */
+    public SonarLintWeakRegistry(int maximumEntries, long maximumWeight, ToLongFunction<V> weigher, Consumer<V> evictionListener) {
+        this.maximumEntries = maximumEntries;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+    }
+
+    public Optional<V> get(K key) {
+        expungeCollectedKeys();
+        Entry<K, V> entry = entries.get(new LookupKey(key));
+        return entry == null ? Optional.empty() : Optional.of(entry.value);
+    }
+
+    public void put(K key, V value) {
+        expungeCollectedKeys();
+        WeakKey<K> weakKey = new WeakKey<>(key, collectedKeys);
+        Entry<K, V> entry = new Entry<>(value, weigher.applyAsLong(value), sequence.incrementAndGet());
+        weight.addAndGet(entry.weight);
+        Entry<K, V> previous = entries.put(weakKey, entry);
+        if (previous != null) {
+            weight.addAndGet(-previous.weight);
+        }
+        evictOverBounds();
+    }
+
+    public Optional<V> remove(K key) {
+        expungeCollectedKeys();
+        Entry<K, V> entry = entries.remove(new LookupKey(key));
+        if (entry == null) {
+            return Optional.empty();
+        }
+        weight.addAndGet(-entry.weight);
+        return Optional.of(entry.value);
+    }
+
+    /**
+     * Retrieve number of entries with a key not yet garbage collected
+     * @return number of entries
+     */
+    public int size() {
+        expungeCollectedKeys();
+        return entries.size();
+    }
+
+    /**
+     * Retrieve total weight of values
+     * @return total weight of values
+     */
+    public long getWeight() {
+        expungeCollectedKeys();
+        return weight.get();
+    }
+
+    private void expungeCollectedKeys() {
+        Reference<? extends K> collectedKey;
+        while ((collectedKey = collectedKeys.poll()) != null) {
+            Entry<K, V> entry = entries.remove(collectedKey);
+            if (entry != null) {
+                weight.addAndGet(-entry.weight);
+            }
+        }
+    }
+
+    private void evictOverBounds() {
+        while (entries.size() > maximumEntries || weight.get() > maximumWeight) {
+            Map.Entry<Object, Entry<K, V>> eldest = null;
+            for (Map.Entry<Object, Entry<K, V>> entry : entries.entrySet()) {
+                if (eldest == null || entry.getValue().sequence < eldest.getValue().sequence) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            Entry<K, V> evicted = eldest.getValue();
+            if (entries.remove(eldest.getKey(), evicted)) {
+                weight.addAndGet(-evicted.weight);
+                evictionListener.accept(evicted.value);
+            }
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final V value;
+        private final long weight;
+        private final long sequence;
+
+        private Entry(V value, long weight, long sequence) {
+            this.value = value;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Key referenced by registry
+     */
+    private static final class WeakKey<K> extends WeakReference<K> {
+        private final int hashCode;
+
+        private WeakKey(K referent, ReferenceQueue<K> queue) {
+            super(referent, queue);
+            this.hashCode = System.identityHashCode(referent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            Object referent = get();
+            if (referent == null) {
+                return false;
+            }
+            if (obj instanceof WeakKey) {
+                return referent == ((WeakKey<?>) obj).get();
+            }
+            return obj instanceof LookupKey && referent == ((LookupKey) obj).referent;
+        }
+    }
+
+    /**
+     * Key used only to search an entry
+     */
+    private static final class LookupKey {
+        private final Object referent;
+
+        private LookupKey(Object referent) {
+            this.referent = referent;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof WeakKey) {
+                return referent == ((WeakKey<?>) obj).get();
+            }
+            return false;
+        }
+    }
+}
@@ -186,7 +186,7 @@ public final class SonarRuleDetailsTopComponent extends TopComponent {
         String selectedValue = sonarLintAllRules.getSelectedValue();
         SonarLintOptions sonarLintOptions = Lookup.getDefault().lookup(SonarLintOptions.class);
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        sonarLintEngine.whenInitialized((SonarLintEngine engine) -> {
+        sonarLintEngine.whenRuleDetailsAvailable((SonarLintEngine engine) -> {
             Optional<StandaloneRuleDetails> optionalRuleDetails = engine.getRuleDetails(selectedValue);
             if (optionalRuleDetails.isPresent()) {
                 RuleDetails ruleDetails = optionalRuleDetails.get();
@@ -210,7 +210,7 @@ public final class SonarRuleDetailsTopComponent extends TopComponent {
     
     private void initListAllRuleDetails() {
         SonarLintEngine sonarLintEngine = Lookup.getDefault().lookup(SonarLintEngine.class);
-        sonarLintEngine.whenInitialized((SonarLintEngine engine) -> {
+        sonarLintEngine.whenRuleDetailsAvailable((SonarLintEngine engine) -> {
             DefaultListModel<String> model = new DefaultListModel<>();
             Collection<StandaloneRuleDetails> rules = engine.getAllRuleDetails();
             rules.stream().sorted((r1, r2) -> r1.getKey().compareTo(r2.getKey()))
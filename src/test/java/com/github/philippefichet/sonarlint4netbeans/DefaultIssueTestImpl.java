@@ -105,7 +105,7 @@ public class DefaultIssueTestImpl implements Issue {
 
     @Override
     public String getMessage() {
-        throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+        return null;
     }
     
     public Tuple toTuple()
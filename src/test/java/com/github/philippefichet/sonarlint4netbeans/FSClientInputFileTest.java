@@ -0,0 +1,91 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class FSClientInputFileTest {
+
+    public static Stream<Arguments> parametersForInputStreamWithDeclaredCharset() {
+        StringBuilder largeContent = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            largeContent.append("String s").append(i).append(" = \"\u00e9t\u00e9 \u20ac\";\n");
+        }
+        return Stream.of(
+            Arguments.of("class \u00c9t\u00e9 {}", StandardCharsets.UTF_8),
+            Arguments.of("class \u00c9t\u00e9 {}", StandardCharsets.ISO_8859_1),
+            Arguments.of("class \u00c9t\u00e9 {}", StandardCharsets.UTF_16),
+            Arguments.of("", StandardCharsets.UTF_8),
+            Arguments.of(largeContent, StandardCharsets.UTF_8)
+        );
+    }
+
+    @ParameterizedTest(name = "[{index}] inputStream() with {1}")
+    @MethodSource("parametersForInputStreamWithDeclaredCharset")
+    public void inputStreamWithDeclaredCharset(CharSequence content, Charset charset) throws IOException
+    {
+        FSClientInputFile clientInputFile = new FSClientInputFile(content, Paths.get("A.java"), "A.java", false, charset);
+        Assertions.assertThat(readAllBytes(clientInputFile.inputStream()))
+            .isEqualTo(content.toString().getBytes(charset));
+        Assertions.assertThat(clientInputFile.contents()).isEqualTo(content.toString());
+    }
+
+    @Test
+    public void contentReadFromFile(@TempDir Path temporaryDirectory) throws IOException
+    {
+        Path file = temporaryDirectory.resolve("A.java");
+        String content = "class \u00c9t\u00e9 {}";
+        Files.write(file, content.getBytes(StandardCharsets.ISO_8859_1));
+        FSClientInputFile clientInputFile = new FSClientInputFile(file, "A.java", false, StandardCharsets.ISO_8859_1);
+        Assertions.assertThat(readAllBytes(clientInputFile.inputStream()))
+            .isEqualTo(content.getBytes(StandardCharsets.ISO_8859_1));
+        Assertions.assertThat(clientInputFile.contents()).isEqualTo(content);
+    }
+
+    private static byte[] readAllBytes(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnalyserIssueChildrenTest {
+
+    @Test
+    public void merge()
+    {
+        Assertions.assertThat(SonarLintAnalyserIssueChildren.merge(
+            Arrays.asList(1, 3, 5, 7),
+            Arrays.asList(2, 3, 8),
+            Comparator.naturalOrder()
+        )).containsExactly(1, 2, 3, 3, 5, 7, 8);
+        Assertions.assertThat(SonarLintAnalyserIssueChildren.merge(
+            Collections.<Integer>emptyList(),
+            Arrays.asList(2, 3),
+            Comparator.naturalOrder()
+        )).containsExactly(2, 3);
+    }
+
+    @Test
+    public void mergeKeepFirstListFirstWhenTied()
+    {
+        // Same length, sorted by length only
+        Assertions.assertThat(SonarLintAnalyserIssueChildren.merge(
+            Arrays.asList("a", "bb", "cc"),
+            Arrays.asList("dd", "e"),
+            Comparator.comparingInt(String::length)
+        )).containsExactly("a", "bb", "cc", "dd", "e");
+    }
+}
@@ -70,6 +70,40 @@ public class SonarLintAnalyserIssueComparatorTest {
                     .build(),
                     CompareOrder.SECOND
             ),
+            Arguments.of(
+                new DefaultIssueTestImpl.Builder()
+                    .clientInputFile(new FSClientInputFile(null, firstFile.toPath(), null, true, null))
+                    .build(),
+                new DefaultIssueTestImpl.Builder()
+                    .clientInputFile(new FSClientInputFile(null, firstFile.toPath(), null, true, null))
+                    .startLine(1)
+                    .startLineOffset(0)
+                    .build(),
+                    CompareOrder.FIRST
+            ),
+            Arguments.of(
+                new DefaultIssueTestImpl.Builder()
+                    .build(),
+                new DefaultIssueTestImpl.Builder()
+                    .clientInputFile(new FSClientInputFile(null, firstFile.toPath(), null, true, null))
+                    .startLine(19)
+                    .startLineOffset(15)
+                    .build(),
+                    CompareOrder.SECOND
+            ),
+            Arguments.of(
+                new DefaultIssueTestImpl.Builder()
+                    .clientInputFile(new FSClientInputFile(null, firstFile.toPath(), null, true, null))
+                    .startLine(19)
+                    .startLineOffset(15)
+                    .build(),
+                new DefaultIssueTestImpl.Builder()
+                    .clientInputFile(new FSClientInputFile(null, new File("./src/test/resources/other/NewClass.java").toPath(), null, true, null))
+                    .startLine(19)
+                    .startLineOffset(15)
+                    .build(),
+                    CompareOrder.TIED
+            ),
         };
     }
 
@@ -97,6 +131,15 @@ public class SonarLintAnalyserIssueComparatorTest {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("parametersForCompare")
+    public void compareSortKey(Issue o1, Issue o2, CompareOrder compareOrder)
+    {
+        int compare = SonarLintAnalyserIssueSortKey.of(o1).compareTo(SonarLintAnalyserIssueSortKey.of(o2));
+        Assertions.assertThat(Integer.signum(compare))
+            .isEqualTo(Integer.signum(new SonarLintAnalyserIssueComparator().compare(o1, o2)));
+    }
+
     @ParameterizedTest
     @MethodSource("parametersForCompare")
     public void sort(Issue o1, Issue o2, CompareOrder compareOrder)
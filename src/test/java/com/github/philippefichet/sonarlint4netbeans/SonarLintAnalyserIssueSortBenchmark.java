@@ -0,0 +1,150 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ * Micro benchmark of issue sorting, not run by tests: run main method from test classpath.
+ * Compare sort by splitting paths on each comparison with sort by precomputed sort keys
+ * and sort of issues moved to store.
+ * Each case returns a checksum of sorted issues, printed to keep its work alive.
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnalyserIssueSortBenchmark {
+
+    private static final int ISSUE_COUNT = 20_000;
+    private static final int FILE_COUNT = 500;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURE_ITERATIONS = 20;
+
+    /**
+     * Comparator splitting paths on each comparison
+     */
+    private static final Comparator<Issue> SPLIT_COMPARATOR = (Issue o1, Issue o2) -> {
+        String[] splitO1 = o1.getInputFile().uri().getPath().split("/");
+        String[] splitO2 = o2.getInputFile().uri().getPath().split("/");
+        int compare = splitO1[splitO1.length - 1].compareTo(splitO2[splitO2.length - 1]);
+        if (compare == 0) {
+            int compareLine = o1.getStartLine() - o2.getStartLine();
+            if (compareLine == 0) {
+                return o1.getStartLineOffset() - o2.getStartLineOffset();
+            }
+            return compareLine;
+        }
+        return compare;
+    };
+
+    public static void main(String[] args) {
+        List<Issue> issues = createIssues(new Random(42));
+        benchmark("split comparator", issues, copy -> {
+            copy.sort(SPLIT_COMPARATOR);
+            return checksum(copy);
+        });
+        benchmark("issue comparator", issues, copy -> {
+            copy.sort(new SonarLintAnalyserIssueComparator());
+            return checksum(copy);
+        });
+        benchmark("sort keys", issues, copy -> {
+            List<SonarLintAnalyserIssueSortKey> keys = new ArrayList<>(copy.size());
+            for (Issue issue : copy) {
+                keys.add(SonarLintAnalyserIssueSortKey.of(issue));
+            }
+            Collections.sort(keys);
+            long checksum = 0;
+            for (SonarLintAnalyserIssueSortKey key : keys) {
+                checksum = checksum(checksum, key.getIssue().getStartLine(), key.getIssue().getStartLineOffset());
+            }
+            return checksum;
+        });
+        benchmark("issue store", issues, copy -> {
+            SonarLintIssueStore store = new SonarLintIssueStore();
+            List<Integer> ids = new ArrayList<>(copy.size());
+            for (Issue issue : copy) {
+                ids.add(store.add(issue));
+            }
+            ids.sort(store::compare);
+            long checksum = 0;
+            for (Integer id : ids) {
+                checksum = checksum(checksum, store.getStartLine(id), store.getStartLineOffset(id));
+            }
+            return checksum;
+        });
+    }
+
+    private static long checksum(List<Issue> sortedIssues) {
+        long checksum = 0;
+        for (Issue issue : sortedIssues) {
+            checksum = checksum(checksum, issue.getStartLine(), issue.getStartLineOffset());
+        }
+        return checksum;
+    }
+
+    /**
+     * Checksum depending on order of issues, same for each case
+     */
+    private static long checksum(long checksum, int line, int column) {
+        return 31 * checksum + line * 128L + column;
+    }
+
+    private static List<Issue> createIssues(Random random) {
+        List<FSClientInputFile> files = new ArrayList<>(FILE_COUNT);
+        for (int i = 0; i < FILE_COUNT; i++) {
+            File file = new File("src/main/java/com/example/module" + (i % 20) + "/Class" + i + ".java");
+            files.add(new FSClientInputFile(file.toPath(), file.getPath(), false, null));
+        }
+        List<Issue> issues = new ArrayList<>(ISSUE_COUNT);
+        for (int i = 0; i < ISSUE_COUNT; i++) {
+            int line = 1 + random.nextInt(2000);
+            issues.add(new DefaultIssueTestImpl.Builder()
+                .clientInputFile(files.get(random.nextInt(FILE_COUNT)))
+                .startLine(line)
+                .endLine(line)
+                .startLineOffset(random.nextInt(120))
+                .build()
+            );
+        }
+        return issues;
+    }
+
+    private static void benchmark(String name, List<Issue> issues, ToLongFunction<List<Issue>> sort) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += sort.applyAsLong(new ArrayList<>(issues));
+        }
+        long total = 0;
+        for (int i = 0; i < MEASURE_ITERATIONS; i++) {
+            List<Issue> copy = new ArrayList<>(issues);
+            long start = System.nanoTime();
+            checksum += sort.applyAsLong(copy);
+            total += System.nanoTime() - start;
+        }
+        System.out.println(String.format(Locale.ENGLISH, "%-20s %8.2f ms/op (checksum %016x)", name, total / 1e6 / MEASURE_ITERATIONS, checksum));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnalysisManifestTest {
+
+    private static void analyze(SonarLintAnalysisManifest manifest, Path file, Integer... lines) throws IOException {
+        analyze(manifest, file, false, lines);
+    }
+
+    private static void analyze(SonarLintAnalysisManifest manifest, Path file, boolean test, Integer... lines) throws IOException {
+        Assertions.assertThat(manifest.getUnchangedIssues(file, "java rules")).isEmpty();
+        for (Integer line : lines) {
+            manifest.addIssue(new DefaultIssueTestImpl.Builder()
+                .ruleKey("java:S1186")
+                .ruleName("Methods should not be empty")
+                .severity("CRITICAL")
+                .type("CODE_SMELL")
+                .startLine(line)
+                .startLineOffset(4)
+                .endLine(line)
+                .endLineOffset(10)
+                .clientInputFile(new FSClientInputFile(file, file.getFileName().toString(), test, null))
+                .build()
+            );
+        }
+    }
+
+    @Test
+    public void reuseIssuesOfUnchangedFiles(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("manifest.json");
+        Path unchanged = Files.write(tempDir.resolve("Unchanged.java"), "class Unchanged {}".getBytes(StandardCharsets.UTF_8));
+        Path touched = Files.write(tempDir.resolve("Touched.java"), "class Touched {}".getBytes(StandardCharsets.UTF_8));
+        Path changed = Files.write(tempDir.resolve("Changed.java"), "class Changed {}".getBytes(StandardCharsets.UTF_8));
+        Path deleted = Files.write(tempDir.resolve("Deleted.java"), "class Deleted {}".getBytes(StandardCharsets.UTF_8));
+
+        SonarLintAnalysisManifest manifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        Assertions.assertThat(manifest.load()).isFalse();
+        analyze(manifest, unchanged, 1, 2);
+        analyze(manifest, touched, 3);
+        analyze(manifest, changed);
+        analyze(manifest, deleted);
+        manifest.recordAnalyzedFiles(Collections.emptyList());
+        Assertions.assertThat(manifest.size()).isEqualTo(4);
+        manifest.save();
+
+        // Same content with another modification time, other content and removed file
+        Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() - 60_000));
+        Files.write(changed, "class Changed { void m() {} }".getBytes(StandardCharsets.UTF_8));
+        Files.delete(deleted);
+
+        SonarLintAnalysisManifest nextManifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        Assertions.assertThat(nextManifest.load()).isTrue();
+        Optional<List<Issue>> unchangedIssues = nextManifest.getUnchangedIssues(unchanged, "java rules");
+        Assertions.assertThat(unchangedIssues).isPresent();
+        Assertions.assertThat(unchangedIssues.get())
+            .extracting(Issue::getRuleKey, Issue::getSeverity, Issue::getStartLine, Issue::getEndLineOffset)
+            .containsExactlyInAnyOrder(
+                Assertions.tuple("java:S1186", "CRITICAL", 1, 10),
+                Assertions.tuple("java:S1186", "CRITICAL", 2, 10)
+            );
+        Assertions.assertThat(Paths.get(unchangedIssues.get().get(0).getInputFile().uri())).isEqualTo(unchanged.toAbsolutePath());
+        Assertions.assertThat(nextManifest.getUnchangedIssues(touched, "java rules")).hasValueSatisfying(
+            issues -> Assertions.assertThat(issues).extracting(Issue::getStartLine).containsExactly(3)
+        );
+        analyze(nextManifest, changed, 1);
+        nextManifest.recordAnalyzedFiles(Collections.emptyList());
+        Assertions.assertThat(nextManifest.size()).isEqualTo(3);
+        nextManifest.save();
+
+        SonarLintAnalysisManifest lastManifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        Assertions.assertThat(lastManifest.load()).isTrue();
+        Assertions.assertThat(lastManifest.getUnchangedIssues(changed, "java rules")).hasValueSatisfying(
+            issues -> Assertions.assertThat(issues).extracting(Issue::getStartLine).containsExactly(1)
+        );
+    }
+
+    @Test
+    public void ignoreManifestOfOtherConfigurationAndFailedFiles(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("manifest.json");
+        Path analyzed = Files.write(tempDir.resolve("Analyzed.java"), "class Analyzed {}".getBytes(StandardCharsets.UTF_8));
+        Path failed = Files.write(tempDir.resolve("Failed.java"), "class Failed {".getBytes(StandardCharsets.UTF_8));
+        SonarLintAnalysisManifest manifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        analyze(manifest, analyzed);
+        analyze(manifest, failed);
+        manifest.recordAnalyzedFiles(Arrays.asList(failed));
+        Assertions.assertThat(manifest.size()).isEqualTo(1);
+        manifest.save();
+
+        SonarLintAnalysisManifest otherRules = new SonarLintAnalysisManifest(manifestFile, "other rules");
+        Assertions.assertThat(otherRules.load()).isFalse();
+        Assertions.assertThat(otherRules.getUnchangedIssues(analyzed, "java rules")).isEmpty();
+    }
+
+    @Test
+    public void analyzeAgainFilesOfChangedRulesAndKeepTestFiles(@TempDir Path tempDir) throws IOException {
+        Path manifestFile = tempDir.resolve("manifest.json");
+        Path source = Files.write(tempDir.resolve("Source.java"), "class Source {}".getBytes(StandardCharsets.UTF_8));
+        Path test = Files.write(tempDir.resolve("SourceTest.java"), "class SourceTest {}".getBytes(StandardCharsets.UTF_8));
+        SonarLintAnalysisManifest manifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        analyze(manifest, source, 1);
+        analyze(manifest, test, true, 1);
+        manifest.recordAnalyzedFiles(Collections.emptyList());
+        manifest.save();
+
+        SonarLintAnalysisManifest nextManifest = new SonarLintAnalysisManifest(manifestFile, "rules");
+        Assertions.assertThat(nextManifest.load()).isTrue();
+        Assertions.assertThat(nextManifest.getUnchangedIssues(source, "other java rules")).isEmpty();
+        Assertions.assertThat(nextManifest.getUnchangedIssues(test, "java rules")).hasValueSatisfying(
+            issues -> Assertions.assertThat(issues).extracting(issue -> issue.getInputFile().isTest()).containsExactly(true)
+        );
+    }
+
+    @Test
+    public void sameManifestFileWhateverOrderOfRoots() {
+        Path first = Paths.get("first");
+        Path second = Paths.get("second");
+        Assertions.assertThat(SonarLintAnalysisManifest.getManifestFile(Arrays.asList(first, second)))
+            .isEqualTo(SonarLintAnalysisManifest.getManifestFile(Arrays.asList(second, first)))
+            .isNotEqualTo(SonarLintAnalysisManifest.getManifestFile(Arrays.asList(first)));
+        Assertions.assertThat(SonarLintAnalysisManifest.getManifestFile(Arrays.asList(first)).getParent())
+            .isEqualTo(Paths.get(System.getProperty("user.home"), ".sonarlint4netbeans", "manifests"));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnalysisProgressTest {
+
+    private final List<String> messages = new ArrayList<>();
+    private final List<Integer> workunits = new ArrayList<>();
+    private final AtomicLong nanoTime = new AtomicLong(0);
+    private final SonarLintAnalysisProgress progress = new SonarLintAnalysisProgress(new SonarLintAnalysisProgress.Display() {
+        @Override
+        public void switchToDeterminate(int total) {
+            workunits.add(-total);
+        }
+
+        @Override
+        public void progress(String message) {
+            messages.add(message);
+        }
+
+        @Override
+        public void progress(String message, int workunit) {
+            messages.add(message);
+            workunits.add(workunit);
+        }
+    }, nanoTime::get);
+
+    @Test
+    public void countFilesAndThrottleDisplay()
+    {
+        progress.fileFound(URI.create("file:///A.java"));
+        progress.fileFound(URI.create("file:///B.java"));
+        progress.fileFound(URI.create("file:///C.java"));
+        progress.fileFound(URI.create("file:///D.java"));
+        // Display is updated once by interval
+        Assertions.assertThat(messages).containsExactly("Found 1 files, analyzed 0");
+        Assertions.assertThat(progress.getFoundFiles()).isEqualTo(4);
+
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        progress.fileAnalyzed(URI.create("file:///A.java"));
+        // Files read again are not counted
+        progress.fileAnalyzed(URI.create("file:///A.java"));
+        Assertions.assertThat(progress.getAnalyzedFiles()).isEqualTo(1);
+        Assertions.assertThat(messages).last().asString()
+            .isEqualTo("1 files analyzed, 4 found, 1.0 files/s - file:///A.java");
+
+        progress.walkFinished();
+        Assertions.assertThat(workunits).containsExactly(-4, 1);
+        Assertions.assertThat(messages).last().asString()
+            .isEqualTo("1/4 files, 1.0 files/s, ETA 0:03");
+
+        progress.fileAnalyzed(URI.create("file:///B.java"));
+        Assertions.assertThat(progress.getAnalyzedFiles()).isEqualTo(2);
+        Assertions.assertThat(workunits).containsExactly(-4, 1);
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        progress.fileAnalyzed(URI.create("file:///C.java"));
+        Assertions.assertThat(workunits).containsExactly(-4, 1, 3);
+        Assertions.assertThat(messages).last().asString()
+            .isEqualTo("3/4 files, 1.5 files/s, ETA 0:00 - file:///C.java");
+    }
+
+    @Test
+    public void formatDuration()
+    {
+        Assertions.assertThat(SonarLintAnalysisProgress.formatDuration(5)).isEqualTo("0:05");
+        Assertions.assertThat(SonarLintAnalysisProgress.formatDuration(125)).isEqualTo("2:05");
+        Assertions.assertThat(SonarLintAnalysisProgress.formatDuration(3725)).isEqualTo("1:02:05");
+    }
+}
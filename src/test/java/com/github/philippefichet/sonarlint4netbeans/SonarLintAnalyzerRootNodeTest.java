@@ -0,0 +1,101 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openide.filesystems.FileUtil;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnalyzerRootNodeTest {
+
+    @Test
+    public void coalesceNotificationsOnEDT() throws IOException, InterruptedException, InvocationTargetException {
+        List<Issue> issues = new ArrayList<>();
+        SonarLintUtils.analyze(
+            Arrays.asList(FileUtil.normalizeFile(new File("./src/test/resources/NewClass.java"))),
+            issues::add,
+            null,
+            null
+        );
+        Assertions.assertThat(issues).isNotEmpty();
+
+        SonarLintAnalyzerRootNode rootNode = new SonarLintAnalyzerRootNode();
+        List<Boolean> insertedOnEDT = new ArrayList<>();
+        TreeModelListener listener = new TreeModelListener() {
+            @Override
+            public void treeNodesInserted(TreeModelEvent e) {
+                insertedOnEDT.add(SwingUtilities.isEventDispatchThread());
+            }
+
+            @Override
+            public void treeNodesChanged(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeNodesRemoved(TreeModelEvent e) {
+            }
+
+            @Override
+            public void treeStructureChanged(TreeModelEvent e) {
+            }
+        };
+        rootNode.addTreeModelListener(listener);
+        rootNode.starting();
+        for (int i = 0; i < 100; i++) {
+            issues.forEach(rootNode::handle);
+        }
+        rootNode.ending();
+        // Wait notifications already scheduled
+        SwingUtilities.invokeAndWait(() -> {});
+
+        int issueCount = issues.size() * 100;
+        Assertions.assertThat(rootNode.getDisplayName())
+            .isEqualTo("Analyze done, " + issueCount + " issues found");
+        Assertions.assertThat(insertedOnEDT)
+            .isNotEmpty()
+            .hasSizeLessThan(issueCount)
+            .containsOnly(Boolean.TRUE);
+
+        // Removed listener is no longer notified
+        int notificationCount = insertedOnEDT.size();
+        rootNode.removeTreeModelListener(listener);
+        rootNode.starting();
+        issues.forEach(rootNode::handle);
+        rootNode.ending();
+        SwingUtilities.invokeAndWait(() -> {});
+        Assertions.assertThat(insertedOnEDT).hasSize(notificationCount);
+        Assertions.assertThat(rootNode.getDisplayName())
+            .isEqualTo("Analyze done, " + (issueCount + issues.size()) + " issues found");
+    }
+}
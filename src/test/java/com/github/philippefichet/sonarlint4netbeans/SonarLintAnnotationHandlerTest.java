@@ -0,0 +1,60 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import javax.swing.text.StyledDocument;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnnotationHandlerTest {
+
+    @Test
+    public void findAnnotationMovedByModificationOfDocument() throws BadLocationException
+    {
+        StyledDocument document = new DefaultStyledDocument();
+        document.insertString(0, "class A {\n    int a;\n    int b;\n}\n", null);
+        SonarLintAnnotation first = new SonarLintAnnotation("java:S1", "First", "MAJOR", 14, 5);
+        SonarLintAnnotation second = new SonarLintAnnotation("java:S2", "Second", "MAJOR", 25, 5);
+        first.setStartPosition(document.createPosition(14));
+        second.setStartPosition(document.createPosition(25));
+        SonarLintAnnotationHandler.FileAnnotations fileAnnotations = new SonarLintAnnotationHandler.FileAnnotations(
+            SonarLintAnnotationIndex.of(Arrays.asList(first, second)),
+            document
+        );
+
+        // Line inserted between annotations
+        document.insertString(20, "    int c;\n", null);
+        fileAnnotations.documentModified();
+
+        SonarLintAnnotationIndex index = fileAnnotations.getIndex();
+        Assertions.assertThat(second.getStartOffest()).isEqualTo(36);
+        Assertions.assertThat(index.find(36, 5, second.getShortDescription())).containsSame(second);
+        Assertions.assertThat(index.find(25, 5, second.getShortDescription())).isEmpty();
+        Assertions.assertThat(index.find(14, 5, first.getShortDescription())).containsSame(first);
+        Assertions.assertThat(index.getAnnotationsAt(38)).containsExactly(second);
+    }
+}
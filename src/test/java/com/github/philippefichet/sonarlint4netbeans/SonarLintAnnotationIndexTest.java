@@ -0,0 +1,82 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.Arrays;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintAnnotationIndexTest {
+
+    private final SonarLintAnnotation s115 = new SonarLintAnnotation("java:S115", "Constant names", "CRITICAL", 40, 100);
+    private final SonarLintAnnotation s1118 = new SonarLintAnnotation("java:S1118", "Utility classes", "MAJOR", 10, 5);
+    private final SonarLintAnnotation s1220 = new SonarLintAnnotation("java:S1220", "Default package", "MINOR", 60, 10);
+    private final SonarLintAnnotation s100 = new SonarLintAnnotation("java:S100", "Method names", "MINOR", 60, 2);
+    private final SonarLintAnnotationIndex index = SonarLintAnnotationIndex.of(Arrays.asList(s115, s1118, s1220, s100));
+
+    @Test
+    public void sortedByStartOffset()
+    {
+        Assertions.assertThat(index.getAnnotations())
+            .extracting(SonarLintAnnotation::getStartOffest)
+            .containsExactly(10L, 40L, 60L, 60L);
+    }
+
+    @Test
+    public void find()
+    {
+        Assertions.assertThat(index.find(60, 2, s100.getShortDescription())).containsSame(s100);
+        Assertions.assertThat(index.find(60, 10, s1220.getShortDescription())).containsSame(s1220);
+        Assertions.assertThat(index.find(60, 10, s100.getShortDescription())).isEmpty();
+        Assertions.assertThat(index.find(61, 10, s1220.getShortDescription())).isEmpty();
+        Assertions.assertThat(SonarLintAnnotationIndex.empty().find(60, 10, s1220.getShortDescription())).isEmpty();
+    }
+
+    @Test
+    public void getAnnotationsAt()
+    {
+        Assertions.assertThat(index.getAnnotationsAt(12)).containsExactly(s1118);
+        Assertions.assertThat(index.getAnnotationsAt(65)).containsExactlyInAnyOrder(s115, s1220);
+        // Long annotation starting before short ones
+        Assertions.assertThat(index.getAnnotationsAt(100)).containsExactly(s115);
+        Assertions.assertThat(index.getAnnotationsAt(20)).isEmpty();
+        Assertions.assertThat(index.getAnnotationsAt(200)).isEmpty();
+    }
+
+    @Test
+    public void getAnnotationsStartingIn()
+    {
+        Assertions.assertThat(index.getAnnotationsStartingIn(40, 61)).containsExactlyInAnyOrder(s115, s1220, s100);
+        Assertions.assertThat(index.getAnnotationsStartingIn(11, 40)).isEmpty();
+    }
+
+    @Test
+    public void nextAndPrevious()
+    {
+        Assertions.assertThat(index.next(10)).containsSame(s115);
+        Assertions.assertThat(index.next(60)).isEmpty();
+        Assertions.assertThat(index.previous(40)).containsSame(s1118);
+        Assertions.assertThat(index.previous(10)).isEmpty();
+    }
+}
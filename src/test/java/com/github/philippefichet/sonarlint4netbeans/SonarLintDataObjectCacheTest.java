@@ -0,0 +1,57 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import java.net.URI;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openide.filesystems.FileUtil;
+import org.openide.loaders.DataObject;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintDataObjectCacheTest {
+
+    @Test
+    public void findSameDataObjectForFile()
+    {
+        SonarLintDataObjectCache.clear();
+        URI uri = FileUtil.normalizeFile(new File("./src/test/resources/NewClass.java")).toURI();
+        Optional<DataObject> dataObject = SonarLintDataObjectCache.find(uri);
+        Assertions.assertThat(dataObject).isPresent();
+        Assertions.assertThat(dataObject.get().getPrimaryFile().getNameExt()).isEqualTo("NewClass.java");
+        Assertions.assertThat(SonarLintDataObjectCache.find(uri)).containsSame(dataObject.get());
+        Assertions.assertThat(SonarLintDataObjectCache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void rememberMissingFile()
+    {
+        SonarLintDataObjectCache.clear();
+        URI uri = FileUtil.normalizeFile(new File("./src/test/resources/Missing.java")).toURI();
+        Assertions.assertThat(SonarLintDataObjectCache.find(uri)).isEmpty();
+        Assertions.assertThat(SonarLintDataObjectCache.find(uri)).isEmpty();
+        Assertions.assertThat(SonarLintDataObjectCache.size()).isEqualTo(1);
+    }
+}
@@ -26,16 +26,24 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.prefs.BackingStoreException;
 import java.util.stream.Collectors;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.sonarsource.sonarlint.core.client.api.common.PluginDetails;
+import org.sonarsource.sonarlint.core.client.api.common.RuleKey;
 import org.sonarsource.sonarlint.core.client.api.common.Version;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.AnalysisResults;
 import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
 import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneAnalysisConfiguration;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
 
 /**
  *
@@ -174,7 +182,7 @@ public class SonarLintEngineImplTest {
             SonarLintTestUtils.getNodeJS().getAbsolutePath(),
             Version.create(SonarLintTestUtils.getNodeJSVersion())
         );
-        sonarLintEngine.waitingInitialization();
+        sonarLintEngine.waitingReconfiguration();
 
         StandaloneAnalysisConfiguration standaloneAnalysisConfiguration = 
             StandaloneAnalysisConfiguration.builder()
@@ -203,4 +211,143 @@ public class SonarLintEngineImplTest {
                 .collect(Collectors.toList())
             );
     }
+
+    @Test
+    public void waitingInitialization() throws MalformedURLException, InterruptedException
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        CountDownLatch initialized = new CountDownLatch(1);
+        sonarLintEngine.whenInitialized(engine -> initialized.countDown());
+        Assertions.assertThat(sonarLintEngine.waitingInitialization(2, TimeUnit.MINUTES))
+            .isTrue();
+        Assertions.assertThat(initialized.await(1, TimeUnit.MINUTES))
+            .isTrue();
+        Assertions.assertThat(sonarLintEngine.getInitializationDuration())
+            .isPresent();
+        // Consumer registered after initialization is called immediatly
+        AtomicBoolean lateInitialized = new AtomicBoolean(false);
+        sonarLintEngine.whenInitialized(engine -> lateInitialized.set(true));
+        Assertions.assertThat(lateInitialized.get())
+            .isTrue();
+    }
+
+    @Test
+    public void loadAnalyzersOnDemand() throws MalformedURLException
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.setLoadAnalyzersOnDemand(true);
+        try {
+            sonarLintEngine.waitingReconfiguration();
+            Assertions.assertThat(sonarLintEngine.getPluginDetails())
+                .isEmpty();
+            sonarLintEngine.requireLanguages(Collections.singletonList(Language.JAVA)).join();
+            Assertions.assertThat(sonarLintEngine.requireLanguages(Collections.singletonList(Language.JAVA)))
+                .isDone();
+            Assertions.assertThat(sonarLintEngine.getPluginDetails())
+                .extracting(PluginDetails::key)
+                .containsExactly("java");
+            Assertions.assertThat(sonarLintEngine.getRuleDetails("java:S115"))
+                .isPresent();
+            // Rules of analyzers not loaded are only served from snapshot
+            sonarLintEngine.getRuleDetails("php:S101").ifPresent(
+                ruleDetails -> Assertions.assertThat(ruleDetails.getLanguage()).isEqualTo(Language.PHP)
+            );
+            Assertions.assertThat(sonarLintEngine.getAllRuleDetails())
+                .extracting(StandaloneRuleDetails::getKey)
+                .contains("java:S115");
+        } finally {
+            sonarLintEngine.setLoadAnalyzersOnDemand(false);
+        }
+    }
+
+    @Test
+    public void engineServesWhileReconfiguring() throws IOException
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.waitingInitialization();
+        SonarLintTestUtils.installNodeJS();
+        sonarLintEngine.setNodeJSPathAndVersion(
+            SonarLintTestUtils.getNodeJS().getAbsolutePath(),
+            Version.create(SonarLintTestUtils.getNodeJSVersion())
+        );
+        // Previous engine still serves while the new one starts
+        Assertions.assertThat(sonarLintEngine.waitingInitialization(0, TimeUnit.MILLISECONDS))
+            .isTrue();
+        Assertions.assertThat(sonarLintEngine.getPluginDetails())
+            .isNotEmpty();
+        sonarLintEngine.waitingReconfiguration();
+        Assertions.assertThat(sonarLintEngine.getPluginDetails())
+            .isNotEmpty();
+    }
+
+    @Test
+    public void enginePool() throws IOException
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        int enginePoolSize = Math.min(2, sonarLintEngine.getMaximumEnginePoolSize());
+        sonarLintEngine.setEnginePoolSize(enginePoolSize);
+        try {
+            sonarLintEngine.waitingReconfiguration();
+            Assertions.assertThat(sonarLintEngine.getEnginePoolSize())
+                .isEqualTo(enginePoolSize);
+            StandaloneAnalysisConfiguration standaloneAnalysisConfiguration =
+                StandaloneAnalysisConfiguration.builder()
+                .setBaseDir(new File(System.getProperty("user.home") + File.separator + ".sonarlint4netbeans").toPath())
+                .addInputFiles(SonarLintEngineTestConfiguration.builder()
+                    .addClientInputFile(new File("./src/test/resources/SonarLintFileDemo.java"))
+                    .build()
+                    .getClientInputFiles()
+                )
+                .addIncludedRules(RuleKey.parse("java:S115"))
+                .build();
+            for (SonarLintEngine.AnalysisPriority priority : SonarLintEngine.AnalysisPriority.values()) {
+                List<Issue> actualIssues = new ArrayList<>();
+                sonarLintEngine.analyze(standaloneAnalysisConfiguration, actualIssues::add, null, null, priority);
+                Assertions.assertThat(actualIssues)
+                    .extracting(Issue::getRuleKey)
+                    .contains("java:S115");
+            }
+        } finally {
+            sonarLintEngine.setEnginePoolSize(1);
+        }
+    }
+
+    @Test
+    public void ruleActivation() throws MalformedURLException
+    {
+        SonarLintEngineImpl sonarLintEngine = new SonarLintEngineImpl();
+        sonarLintEngine.waitingInitialization();
+        RuleKey ruleKey = RuleKey.parse("java:S115");
+        boolean excluded = sonarLintEngine.getExcludedRules().contains(ruleKey);
+        try {
+            sonarLintEngine.includeRuleKey(ruleKey);
+            SonarLintRuleActivation ruleActivation = sonarLintEngine.getRuleActivation();
+            Assertions.assertThat(sonarLintEngine.getRuleActivation())
+                .isSameAs(ruleActivation);
+            Assertions.assertThat(ruleActivation.getIncludedRules())
+                .contains(ruleKey);
+            sonarLintEngine.excludeRuleKey(ruleKey);
+            SonarLintRuleActivation changedRuleActivation = sonarLintEngine.getRuleActivation();
+            Assertions.assertThat(changedRuleActivation.getVersion())
+                .isGreaterThan(ruleActivation.getVersion());
+            Assertions.assertThat(changedRuleActivation.getExcludedRules())
+                .contains(ruleKey);
+            Assertions.assertThat(changedRuleActivation.getIncludedRules())
+                .doesNotContain(ruleKey);
+            SonarLintRuleActivation javaRuleActivation = changedRuleActivation.forLanguages(Collections.singletonList(Language.JAVA));
+            Assertions.assertThat(javaRuleActivation.getExcludedRules())
+                .contains(ruleKey);
+            Assertions.assertThat(javaRuleActivation.getIncludedRules())
+                .isNotEmpty()
+                .allMatch(key -> "java".equals(key.repository()));
+            Assertions.assertThat(changedRuleActivation.forLanguages(Collections.singletonList(Language.JAVA)))
+                .isSameAs(javaRuleActivation);
+        } finally {
+            if (excluded) {
+                sonarLintEngine.excludeRuleKey(ruleKey);
+            } else {
+                sonarLintEngine.includeRuleKey(ruleKey);
+            }
+        }
+    }
 }
@@ -22,7 +22,6 @@ package com.github.philippefichet.sonarlint4netbeans;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -112,7 +111,6 @@ public final class SonarLintEngineTestConfiguration {
         public Builder addClientInputFile(File file) throws IOException {
             Path path = file.toPath();
             clientInputFiles.add(new FSClientInputFile(
-                new String(Files.readAllBytes(path)),
                 path.toAbsolutePath(),
                 file.getName(),
                 false,
@@ -0,0 +1,143 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintFileWalkerTest {
+
+    @Test
+    public void walkSkipsExcludedFiles(@TempDir Path root) throws IOException
+    {
+        createFiles(root,
+            "src/main/java/A.java",
+            "src/main/java/B.java",
+            "src/main/resources/a.properties",
+            "src/main/generated/G.java",
+            "src/test/java/ATest.java",
+            "target/classes/A.java",
+            "node_modules/lib/index.js",
+            ".git/hooks/H.java",
+            "web/app.js",
+            "web/vendor/jquery.js",
+            "web/vendor/keep.js",
+            "docs/a/b/sample.js",
+            "docs/readme.js",
+            "lib/library.jar"
+        );
+        Files.write(root.resolve(".gitignore"), Arrays.asList(
+            "# generated sources",
+            "generated/",
+            "docs/**/*.js",
+            "!docs/readme.js"
+        ), StandardCharsets.UTF_8);
+        Files.write(root.resolve("web/.gitignore"), Arrays.asList(
+            "vendor/*.js",
+            "!keep.js"
+        ), StandardCharsets.UTF_8);
+
+        SonarLintFileWalker sonarLintFileWalker = new SonarLintFileWalker(
+            fileName -> fileName.endsWith(".java") || fileName.endsWith(".js"),
+            Collections.singletonList("src/test/")
+        );
+        Assertions.assertThat(walk(sonarLintFileWalker, root, root))
+            .containsExactlyInAnyOrder(
+                "src/main/java/A.java",
+                "src/main/java/B.java",
+                "web/app.js",
+                "web/vendor/keep.js",
+                "docs/readme.js"
+            );
+    }
+
+    @Test
+    public void buildOutputDirectoriesAreOnlySkippedUnderProjectRoots(@TempDir Path root) throws IOException
+    {
+        createFiles(root,
+            "build/Output.java",
+            "module/pom.xml",
+            "module/target/Output.java",
+            "module/src/main/java/com/example/build/Builder.java",
+            "module/src/main/java/com/example/target/Target.java",
+            "module/src/main/java/com/example/CVS/Versioned.java",
+            "module/src/main/java/com/example/cvs/CVS/Entries",
+            "module/src/main/java/com/example/cvs/CVS/Metadata.java"
+        );
+        SonarLintFileWalker sonarLintFileWalker = new SonarLintFileWalker(fileName -> fileName.endsWith(".java"), Collections.emptyList());
+        Assertions.assertThat(walk(sonarLintFileWalker, root, root))
+            .containsExactlyInAnyOrder(
+                "module/src/main/java/com/example/build/Builder.java",
+                "module/src/main/java/com/example/target/Target.java",
+                "module/src/main/java/com/example/CVS/Versioned.java"
+            );
+    }
+
+    @Test
+    public void walkedRootIsNeverExcluded(@TempDir Path root) throws IOException
+    {
+        createFiles(root, "target/A.java", "target/sub/B.java");
+        SonarLintFileWalker sonarLintFileWalker = new SonarLintFileWalker(fileName -> true, Collections.singletonList("*.java"));
+        Assertions.assertThat(walk(sonarLintFileWalker, root, root.resolve("target/A.java")))
+            .containsExactly("target/A.java");
+        Assertions.assertThat(walk(new SonarLintFileWalker(fileName -> true, Collections.emptyList()), root, root.resolve("target")))
+            .containsExactlyInAnyOrder("target/A.java", "target/sub/B.java");
+    }
+
+    @Test
+    public void walkIsCanceled(@TempDir Path root) throws IOException
+    {
+        createFiles(root, "A.java", "B.java", "C.java");
+        List<Path> files = new ArrayList<>();
+        new SonarLintFileWalker(fileName -> true, Collections.emptyList())
+            .walk(root, files::add, () -> !files.isEmpty());
+        Assertions.assertThat(files).hasSize(1);
+    }
+
+    private static List<String> walk(SonarLintFileWalker sonarLintFileWalker, Path base, Path root) throws IOException {
+        List<Path> files = new ArrayList<>();
+        sonarLintFileWalker.walk(root, files::add, () -> false);
+        return files.stream()
+            .map(file -> base.relativize(file).toString().replace('\\', '/'))
+            .collect(Collectors.toList());
+    }
+
+    private static void createFiles(Path root, String... files) throws IOException {
+        for (String file : files) {
+            Path path = root.resolve(file);
+            Files.createDirectories(path.getParent());
+            Files.createFile(path);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintIssueCacheTest {
+
+    private static final List<Issue> ISSUES = Collections.singletonList(
+        new DefaultIssueTestImpl.Builder()
+        .severity("CRITICAL")
+        .type("CODE_SMELL")
+        .ruleKey("java:S115")
+        .ruleName("Constant names should comply with a naming convention")
+        .startLine(25)
+        .startLineOffset(31)
+        .endLine(25)
+        .endLineOffset(56)
+        .build()
+    );
+
+    @Test
+    public void getByContentVersionAndTestFlag()
+    {
+        SonarLintIssueCache cache = new SonarLintIssueCache(10, Long.MAX_VALUE);
+        cache.put(SonarLintIssueCache.key("/A.java", "class A {}", 1, false), ISSUES, 10);
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "class A {}", 1, false)))
+            .hasValueSatisfying(issues -> Assertions.assertThat(issues).containsExactlyElementsOf(ISSUES));
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "class A { }", 1, false)))
+            .isEmpty();
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "class A {}", 2, false)))
+            .isEmpty();
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "class A {}", 1, true)))
+            .isEmpty();
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/B.java", "class A {}", 1, false)))
+            .isEmpty();
+    }
+
+    @Test
+    public void sameKeyForFileAndItsContent(@TempDir Path temporaryDirectory) throws IOException
+    {
+        Path file = temporaryDirectory.resolve("A.java");
+        Files.write(file, "class \u00c9t\u00e9 {}".getBytes(StandardCharsets.ISO_8859_1));
+        Assertions.assertThat(SonarLintIssueCache.key(file, StandardCharsets.ISO_8859_1, 1, false))
+            .isEqualTo(SonarLintIssueCache.key(file.toString(), "class \u00c9t\u00e9 {}", 1, false))
+            .isNotEqualTo(SonarLintIssueCache.key(file.toString(), "class Ete {}", 1, false));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed()
+    {
+        SonarLintIssueCache cache = new SonarLintIssueCache(2, Long.MAX_VALUE);
+        cache.put(SonarLintIssueCache.key("/A.java", "A", 1, false), ISSUES, 1);
+        cache.put(SonarLintIssueCache.key("/B.java", "B", 1, false), ISSUES, 1);
+        // A become most recently used
+        cache.get(SonarLintIssueCache.key("/A.java", "A", 1, false));
+        cache.put(SonarLintIssueCache.key("/C.java", "C", 1, false), ISSUES, 1);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "A", 1, false))).isPresent();
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/B.java", "B", 1, false))).isEmpty();
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/C.java", "C", 1, false))).isPresent();
+    }
+
+    @Test
+    public void evictByEstimatedBytes()
+    {
+        SonarLintIssueCache cache = new SonarLintIssueCache(10, 4000);
+        cache.put(SonarLintIssueCache.key("/A.java", "A", 1, false), ISSUES, 500);
+        cache.put(SonarLintIssueCache.key("/B.java", "B", 1, false), ISSUES, 500);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        cache.put(SonarLintIssueCache.key("/C.java", "C", 1, false), ISSUES, 500);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.getEstimatedBytes()).isLessThanOrEqualTo(4000);
+        Assertions.assertThat(cache.get(SonarLintIssueCache.key("/A.java", "A", 1, false))).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.File;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.sonarsource.sonarlint.core.client.api.common.analysis.Issue;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintIssueStoreTest {
+
+    private static Issue issue(String ruleKey, String severity, FSClientInputFile file, Integer startLine, Integer startLineOffset)
+    {
+        return new DefaultIssueTestImpl.Builder()
+            .ruleKey(ruleKey)
+            .ruleName(new String("Rule " + ruleKey))
+            .severity(severity)
+            .type("CODE_SMELL")
+            .clientInputFile(file)
+            .startLine(startLine)
+            .startLineOffset(startLineOffset)
+            .endLine(startLine)
+            .endLineOffset(startLineOffset)
+            .build();
+    }
+
+    @Test
+    public void storeIssuesInColumns()
+    {
+        File file = new File("./src/test/resources/NewClass.java");
+        FSClientInputFile inputFile = new FSClientInputFile(file.toPath(), "NewClass.java", false, null);
+        SonarLintIssueStore store = new SonarLintIssueStore();
+        // Enough issues to grow columns
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertThat(store.add(issue("java:S" + (i % 10), "MAJOR", inputFile, i + 1, i % 80)))
+                .isEqualTo(i);
+        }
+        int withoutLocation = store.add(issue("java:S0", "INFO", null, null, null));
+
+        Assertions.assertThat(store.size()).isEqualTo(1001);
+        Assertions.assertThat(store.getFileCount()).isEqualTo(1);
+        // 10 rule keys, 10 rule names, 2 severities, 1 type
+        Assertions.assertThat(store.getTextCount()).isEqualTo(23);
+        Assertions.assertThat(store.getRuleKey(999)).isEqualTo("java:S9");
+        Assertions.assertThat(store.getRuleName(999)).isSameAs(store.getRuleName(9));
+        Assertions.assertThat(store.getSeverity(999)).isEqualTo("MAJOR");
+        Assertions.assertThat(store.getType(999)).isEqualTo("CODE_SMELL");
+        Assertions.assertThat(store.getMessage(999)).isNull();
+        Assertions.assertThat(store.getStartLine(999)).isEqualTo(1000);
+        Assertions.assertThat(store.getStartLineOffset(999)).isEqualTo(999 % 80);
+        Assertions.assertThat(store.getURI(999)).isEqualTo(inputFile.uri());
+        Assertions.assertThat(store.getRelativePath(999)).isEqualTo("NewClass.java");
+
+        Assertions.assertThat(store.getSeverity(withoutLocation)).isEqualTo("INFO");
+        Assertions.assertThat(store.getStartLine(withoutLocation)).isNull();
+        Assertions.assertThat(store.getEndLineOffset(withoutLocation)).isNull();
+        Assertions.assertThat(store.getURI(withoutLocation)).isNull();
+        Assertions.assertThat(store.getRelativePath(withoutLocation)).isNull();
+    }
+
+    @Test
+    public void compareByFileNameLineAndColumn()
+    {
+        FSClientInputFile first = new FSClientInputFile(new File("./b/A.java").toPath(), "b/A.java", false, null);
+        FSClientInputFile second = new FSClientInputFile(new File("./a/B.java").toPath(), "a/B.java", false, null);
+        FSClientInputFile sameName = new FSClientInputFile(new File("./c/A.java").toPath(), "c/A.java", false, null);
+        SonarLintIssueStore store = new SonarLintIssueStore();
+        int secondFile = store.add(issue("java:S1", "MAJOR", second, 1, 0));
+        int firstFileLine10 = store.add(issue("java:S1", "MAJOR", first, 10, 0));
+        int firstFileLine2 = store.add(issue("java:S1", "MAJOR", first, 2, 5));
+        int firstFileLine2Column1 = store.add(issue("java:S1", "MAJOR", first, 2, 1));
+        int firstFileWithoutLine = store.add(issue("java:S1", "MAJOR", first, null, null));
+        int withoutFile = store.add(issue("java:S1", "MAJOR", null, 1, 0));
+        int sameNameLine2 = store.add(issue("java:S1", "MAJOR", sameName, 2, 5));
+
+        Assertions.assertThat(store.compare(firstFileLine10, secondFile)).isNegative();
+        Assertions.assertThat(store.compare(firstFileLine2, firstFileLine10)).isNegative();
+        Assertions.assertThat(store.compare(firstFileLine2Column1, firstFileLine2)).isNegative();
+        Assertions.assertThat(store.compare(firstFileWithoutLine, firstFileLine2Column1)).isNegative();
+        Assertions.assertThat(store.compare(withoutFile, secondFile)).isPositive();
+        Assertions.assertThat(store.compare(secondFile, withoutFile)).isNegative();
+        Assertions.assertThat(store.compare(firstFileLine2, firstFileLine2)).isZero();
+        // Files of same name in other directories are tied
+        Assertions.assertThat(store.compare(firstFileLine2, sameNameLine2)).isZero();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintLanguageRegistryTest {
+
+    private static final SonarLintLanguageRegistry BUNDLED = SonarLintLanguageRegistry.ofPluginKeys(Arrays.asList("java", "javascript", "php"));
+
+    @Test
+    public void languagesBySuffix()
+    {
+        Assertions.assertThat(BUNDLED.getLanguages("A.java")).containsExactly(Language.JAVA);
+        Assertions.assertThat(BUNDLED.getLanguages("app.JSX")).containsExactly(Language.JS);
+        Assertions.assertThat(BUNDLED.getLanguages("app.component.ts")).containsExactly(Language.TS);
+        // PHP analyzer declares suffixes without dot
+        Assertions.assertThat(BUNDLED.getLanguages("index.php")).containsExactly(Language.PHP);
+        Assertions.assertThat(BUNDLED.getLanguages("view.phtml")).containsExactly(Language.PHP);
+        Assertions.assertThat(BUNDLED.getLanguages("notphp")).isEmpty();
+        Assertions.assertThat(BUNDLED.getLanguages("pom.xml")).isEmpty();
+        Assertions.assertThat(BUNDLED.getLanguages("Makefile")).isEmpty();
+        Assertions.assertThat(SonarLintLanguageRegistry.ALL.getLanguages("pom.xml")).containsExactly(Language.XML);
+        Assertions.assertThat(BUNDLED.isAnalyzed("A.jav")).isTrue();
+        Assertions.assertThat(BUNDLED.isAnalyzed("A.class")).isFalse();
+    }
+
+    @Test
+    public void languagesByMimeType()
+    {
+        Assertions.assertThat(BUNDLED.getLanguagesOfMimeType("text/x-java")).containsExactly(Language.JAVA);
+        Assertions.assertThat(BUNDLED.getLanguagesOfMimeType("text/x-php5")).containsExactly(Language.PHP);
+        Assertions.assertThat(BUNDLED.getLanguagesOfMimeType("text/xml")).isEmpty();
+        Assertions.assertThat(SonarLintLanguageRegistry.ALL.getLanguagesOfMimeType("text/xml")).containsExactly(Language.XML);
+    }
+
+    @Test
+    public void layerRegistersParserTaskForMimeTypesOfBundledAnalyzers() throws Exception
+    {
+        DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+        documentBuilderFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        DocumentBuilder documentBuilder = documentBuilderFactory.newDocumentBuilder();
+        Document layer;
+        try (InputStream inputStream = getClass().getResourceAsStream("/com/github/philippefichet/sonarlint4netbeans/layer.xml")) {
+            layer = documentBuilder.parse(inputStream);
+        }
+        Set<String> registeredMimeTypes = new HashSet<>();
+        NodeList files = layer.getElementsByTagName("file");
+        for (int i = 0; i < files.getLength(); i++) {
+            Element file = (Element) files.item(i);
+            if (file.getAttribute("name").contains("SonarLintParserResultTaskFactory")) {
+                Node subType = file.getParentNode();
+                Node type = subType.getParentNode();
+                registeredMimeTypes.add(((Element) type).getAttribute("name") + "/" + ((Element) subType).getAttribute("name"));
+            }
+        }
+        Assertions.assertThat(registeredMimeTypes).containsExactlyInAnyOrderElementsOf(BUNDLED.getMimeTypes());
+    }
+}
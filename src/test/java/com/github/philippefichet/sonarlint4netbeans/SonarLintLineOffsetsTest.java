@@ -0,0 +1,53 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintLineOffsetsTest {
+
+    @ParameterizedTest(name = "[{index}}] lineOffsets({0})")
+    @ValueSource(strings = {"\n", "\r\n", "\r"})
+    public void lineOffsets(String lineSeparator)
+    {
+        String text = "class A {" + lineSeparator + "    int a;" + lineSeparator + "}";
+        SonarLintLineOffsets lineOffsets = SonarLintLineOffsets.of(text);
+        int secondLineStart = 9 + lineSeparator.length();
+        Assertions.assertThat(lineOffsets.getLineCount()).isEqualTo(3);
+        Assertions.assertThat(lineOffsets.getLength()).isEqualTo(text.length());
+        Assertions.assertThat(lineOffsets.getLineStartOffset(1)).isZero();
+        Assertions.assertThat(lineOffsets.getLineStartOffset(2)).isEqualTo(secondLineStart);
+        Assertions.assertThat(lineOffsets.getOffset(2, 4)).isEqualTo(secondLineStart + 4);
+        Assertions.assertThat(text.substring(lineOffsets.getOffset(2, 4), lineOffsets.getOffset(2, 10))).isEqualTo("int a;");
+        Assertions.assertThat(lineOffsets.getLine(0)).isEqualTo(1);
+        Assertions.assertThat(lineOffsets.getLine(secondLineStart - 1)).isEqualTo(1);
+        Assertions.assertThat(lineOffsets.getLine(secondLineStart)).isEqualTo(2);
+        Assertions.assertThat(lineOffsets.getLine(text.length())).isEqualTo(3);
+        // Locations out of text are bounded
+        Assertions.assertThat(lineOffsets.getOffset(10, 0)).isEqualTo(lineOffsets.getLineStartOffset(3));
+        Assertions.assertThat(lineOffsets.getOffset(3, 100)).isEqualTo(text.length());
+    }
+}
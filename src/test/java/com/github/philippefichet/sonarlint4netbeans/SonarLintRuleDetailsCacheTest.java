@@ -0,0 +1,168 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sonarsource.sonarlint.core.client.api.common.Language;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleDetails;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParam;
+import org.sonarsource.sonarlint.core.client.api.standalone.StandaloneRuleParamType;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintRuleDetailsCacheTest {
+
+    @Test
+    public void saveAndLoad(@TempDir Path temporaryDirectory)
+    {
+        Path cacheFile = temporaryDirectory.resolve("rule-details-cache.json");
+        SonarLintRuleDetailsCache cache = new SonarLintRuleDetailsCache(cacheFile, "1.0", "2.0");
+        Assertions.assertThat(cache.load()).isEmpty();
+
+        cache.save(Collections.singletonList(new RuleDetailsTestImpl()));
+        Optional<Collection<StandaloneRuleDetails>> load = cache.load();
+        Assertions.assertThat(load).isPresent();
+        Assertions.assertThat(load.get())
+            .extracting(
+                StandaloneRuleDetails::getKey,
+                StandaloneRuleDetails::getName,
+                StandaloneRuleDetails::getLanguage,
+                StandaloneRuleDetails::getSeverity,
+                StandaloneRuleDetails::isActiveByDefault
+            ).containsExactly(
+                Assertions.tuple("java:S115", "Constant names should comply with a naming convention", Language.JAVA, "CRITICAL", true)
+            );
+        StandaloneRuleParam param = load.get().iterator().next().paramDetails().iterator().next();
+        Assertions.assertThat(param.name()).isEqualTo("format");
+        Assertions.assertThat(param.defaultValue()).isEqualTo("^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$");
+        Assertions.assertThat(param.type()).isEqualTo(StandaloneRuleParamType.STRING);
+
+        // Snapshot of other analyzer versions is ignored
+        Assertions.assertThat(new SonarLintRuleDetailsCache(cacheFile, "1.0", "2.1").load()).isEmpty();
+    }
+
+    @Test
+    public void skipRulesOfUnknownLanguages(@TempDir Path temporaryDirectory) throws IOException
+    {
+        Path cacheFile = temporaryDirectory.resolve("rule-details-cache.json");
+        SonarLintRuleDetailsCache cache = new SonarLintRuleDetailsCache(cacheFile, "1.0");
+        cache.save(Collections.singletonList(new RuleDetailsTestImpl()));
+        String snapshot = new String(Files.readAllBytes(cacheFile), StandardCharsets.UTF_8);
+        Assertions.assertThat(snapshot).contains("\"languageKey\":\"java\"");
+        Files.write(cacheFile, snapshot.replace("\"languageKey\":\"java\"", "\"languageKey\":\"removed\"").getBytes(StandardCharsets.UTF_8));
+        Assertions.assertThat(cache.load()).hasValueSatisfying(
+            rules -> Assertions.assertThat(rules).isEmpty()
+        );
+    }
+
+    private static final class RuleDetailsTestImpl implements StandaloneRuleDetails {
+        @Override
+        public boolean isActiveByDefault() {
+            return true;
+        }
+
+        @Override
+        public String[] getTags() {
+            return new String[] {"convention"};
+        }
+
+        @Override
+        public Collection<StandaloneRuleParam> paramDetails() {
+            return Collections.singletonList(new StandaloneRuleParam() {
+                @Override
+                public String key() {
+                    return "format";
+                }
+
+                @Override
+                public String name() {
+                    return "format";
+                }
+
+                @Override
+                public String description() {
+                    return "Regular expression used to check the constant names against.";
+                }
+
+                @Override
+                public String defaultValue() {
+                    return "^[A-Z][A-Z0-9]*(_[A-Z0-9]+)*$";
+                }
+
+                @Override
+                public StandaloneRuleParamType type() {
+                    return StandaloneRuleParamType.STRING;
+                }
+
+                @Override
+                public boolean multiple() {
+                    return false;
+                }
+
+                @Override
+                public List<String> possibleValues() {
+                    return Collections.emptyList();
+                }
+            });
+        }
+
+        @Override
+        public String getKey() {
+            return "java:S115";
+        }
+
+        @Override
+        public String getName() {
+            return "Constant names should comply with a naming convention";
+        }
+
+        @Override
+        public String getHtmlDescription() {
+            return "<p>Shared coding conventions allow teams to collaborate efficiently.</p>";
+        }
+
+        @Override
+        public Language getLanguage() {
+            return Language.JAVA;
+        }
+
+        @Override
+        public String getSeverity() {
+            return "CRITICAL";
+        }
+
+        @Override
+        public String getType() {
+            return "CODE_SMELL";
+        }
+    }
+}
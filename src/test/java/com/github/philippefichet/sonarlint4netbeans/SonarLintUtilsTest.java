@@ -77,6 +77,8 @@ public class SonarLintUtilsTest {
             null,
             null
         );
+        // Publish issues still buffered
+        sonarLintAnalyzerRootNode.ending();
         Node[] severityNodes = sonarLintAnalyzerRootNode.getChildren().getNodes();
         Assertions.assertThat(severityNodes)
             .extracting(node -> node.getDisplayName())
@@ -222,6 +224,8 @@ public class SonarLintUtilsTest {
             null,
             null
         );
+        // Publish issues still buffered
+        sonarLintAnalyzerRootNode.ending();
         Node[] severityNodes = sonarLintAnalyzerRootNode.getChildren().getNodes();
         Assertions.assertThat(severityNodes)
             .extracting(node -> node.getDisplayName())
@@ -0,0 +1,83 @@
+/*
+ * sonarlint4netbeans: SonarLint integration for Apache Netbeans
+ * Copyright (C) 2020 Philippe FICHET.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston,
+ * MA 02110-1301  USA
+ */
+package com.github.philippefichet.sonarlint4netbeans;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author FICHET Philippe &lt;philippe.fichet@laposte.net&gt;
+ */
+public class SonarLintWeakRegistryTest {
+
+    @Test
+    public void putGetRemoveByIdentity()
+    {
+        SonarLintWeakRegistry<String, String> registry = new SonarLintWeakRegistry<>(10, Long.MAX_VALUE, String::length, value -> { });
+        String key = new String("key");
+        registry.put(key, "value");
+        Assertions.assertThat(registry.get(key)).hasValue("value");
+        // Keys are compared by identity
+        Assertions.assertThat(registry.get(new String("key"))).isEmpty();
+        registry.put(key, "other value");
+        Assertions.assertThat(registry.get(key)).hasValue("other value");
+        Assertions.assertThat(registry.size()).isEqualTo(1);
+        Assertions.assertThat(registry.getWeight()).isEqualTo(11);
+        Assertions.assertThat(registry.remove(key)).hasValue("other value");
+        Assertions.assertThat(registry.get(key)).isEmpty();
+        Assertions.assertThat(registry.size()).isZero();
+        Assertions.assertThat(registry.getWeight()).isZero();
+    }
+
+    @Test
+    public void evictEldestBeyondMaximumEntries()
+    {
+        List<String> evicted = new ArrayList<>();
+        SonarLintWeakRegistry<Object, String> registry = new SonarLintWeakRegistry<>(2, Long.MAX_VALUE, String::length, evicted::add);
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        registry.put(a, "A");
+        registry.put(b, "B");
+        registry.put(c, "C");
+        Assertions.assertThat(evicted).containsExactly("A");
+        Assertions.assertThat(registry.size()).isEqualTo(2);
+        Assertions.assertThat(registry.get(a)).isEmpty();
+        Assertions.assertThat(registry.get(b)).hasValue("B");
+        Assertions.assertThat(registry.get(c)).hasValue("C");
+    }
+
+    @Test
+    public void evictBeyondMaximumWeight()
+    {
+        List<String> evicted = new ArrayList<>();
+        SonarLintWeakRegistry<Object, String> registry = new SonarLintWeakRegistry<>(10, 5, String::length, evicted::add);
+        Object a = new Object();
+        Object b = new Object();
+        registry.put(a, "AAA");
+        registry.put(b, "BBB");
+        Assertions.assertThat(evicted).containsExactly("AAA");
+        Assertions.assertThat(registry.getWeight()).isEqualTo(3);
+        Assertions.assertThat(registry.get(b)).hasValue("BBB");
+    }
+}